@@ -0,0 +1,122 @@
+package graph.cli;
+
+import graph.models.Graph;
+import graph.scc.CondensationBuilder;
+import graph.scc.CondensationResult;
+import graph.scc.ParallelSCC;
+import graph.scc.SCCTarjan;
+import graph.utils.Metrics;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks the pipeline stages on synthetic graphs shaped like the
+ * data/tasks_large_* inputs (sparse DAG, cyclic clusters, dense) scaled up,
+ * plus a single long dependency chain.
+ * Usage: Benchmark [scale], where scale multiplies the vertex count (default 10000).
+ */
+public class Benchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int n = 40 * scale;
+
+        benchmarkScc("sparse DAG", sparseDag(n, 42));
+        benchmarkScc("cyclic clusters", cyclicClusters(n, 42));
+        benchmarkScc("dense", dense(n / 10, 42));
+        benchmarkScc("long chain", chain(n));
+    }
+
+    private static void benchmarkScc(String shape, Graph g) {
+        SCCTarjan tarjan = new SCCTarjan();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) tarjan.findSCCs(g, new Metrics());
+
+        double best = Double.MAX_VALUE;
+        int components = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            Metrics m = new Metrics();
+            List<List<Integer>> sccs = tarjan.findSCCs(g, m);
+            best = Math.min(best, m.getElapsedMs());
+            components = sccs.size();
+        }
+        report("SCC Tarjan", shape, g, best, "sccs=" + components);
+
+        ParallelSCC parallel = new ParallelSCC();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) parallel.findSCCs(g, new Metrics());
+
+        best = Double.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            Metrics m = new Metrics();
+            List<List<Integer>> sccs = parallel.findSCCs(g, m);
+            best = Math.min(best, m.getElapsedMs());
+            components = sccs.size();
+        }
+        report("SCC parallel", shape, g, best, "sccs=" + components);
+
+        List<List<Integer>> sccs = tarjan.findSCCs(g, new Metrics());
+        for (int i = 0; i < WARMUP_ROUNDS; i++) CondensationBuilder.build(g, sccs);
+
+        best = Double.MAX_VALUE;
+        int superEdges = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            CondensationResult result = CondensationBuilder.build(g, sccs);
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+            superEdges = result.getDag().getEdgeCount();
+        }
+        report("Condensation", shape, g, best, "superEdges=" + superEdges);
+    }
+
+    static void report(String stage, String shape, Graph g, double bestMs, String extra) {
+        System.out.printf("%-22s %-16s V=%-9d E=%-9d best=%9.3fms  %s%n",
+                stage, shape, g.getVertexCount(), g.getEdgeCount(), bestMs, extra);
+    }
+
+    /** Forward-only edges with about two successors per vertex, like tasks_large_1_sparse */
+    static Graph sparseDag(int n, long seed) {
+        Random rnd = new Random(seed);
+        Graph g = new Graph(n, 2 * n);
+        for (int u = 0; u < n - 1; u++) {
+            for (int k = 0; k < 2; k++) {
+                int v = u + 1 + rnd.nextInt(Math.min(50, n - u - 1));
+                g.addEdge(u, v, 1 + rnd.nextInt(10));
+            }
+        }
+        return g;
+    }
+
+    /** Small cycles of 5 vertices chained forward, like tasks_large_2_cyclic */
+    static Graph cyclicClusters(int n, long seed) {
+        Random rnd = new Random(seed);
+        Graph g = new Graph(n, 3 * n);
+        for (int u = 0; u < n; u++) {
+            int base = u - u % 5;
+            int next = base + (u - base + 1) % 5;
+            if (next < n) g.addEdge(u, next, 1 + rnd.nextInt(10));
+            if (base + 5 < n) g.addEdge(u, base + 5 + rnd.nextInt(Math.min(5, n - base - 5)), 1 + rnd.nextInt(10));
+        }
+        return g;
+    }
+
+    /** About twenty random edges per vertex, like tasks_large_3_dense */
+    static Graph dense(int n, long seed) {
+        Random rnd = new Random(seed);
+        Graph g = new Graph(n, 20 * n);
+        for (int u = 0; u < n; u++) {
+            for (int k = 0; k < 20; k++) {
+                g.addEdge(u, rnd.nextInt(n), 1 + rnd.nextInt(10));
+            }
+        }
+        return g;
+    }
+
+    /** One dependency chain 0 -> 1 -> ... -> n-1 */
+    static Graph chain(int n) {
+        Graph g = new Graph(n, n);
+        for (int u = 0; u + 1 < n; u++) g.addEdge(u, u + 1, 1);
+        return g;
+    }
+}
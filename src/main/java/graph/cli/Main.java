@@ -1,6 +1,6 @@
 package graph.cli;
 
-import graph.utils.JsonGraphLoader;
+import graph.utils.JsonGraphStreamLoader;
 import graph.dagsp.*;
 import graph.models.*;
 import graph.scc.*;
@@ -10,7 +10,7 @@ import java.nio.file.*;
 import java.util.List;
 
 public class Main {
-    private static final JsonGraphLoader LOADER = new JsonGraphLoader();
+    private static final JsonGraphStreamLoader LOADER = new JsonGraphStreamLoader();
 
     public static void main(String[] args) throws Exception {
         Path dataDir = Paths.get("data");
@@ -32,12 +32,24 @@ public class Main {
             Graph originalGraph = loaded.getGraph();
             int sourceId = loaded.getSource();
 
-            // SCC + Condensation
+            // Acyclicity pre-check: a Kahn pass leaves vertices on cycles unordered
+            Metrics topoMetrics = new Metrics();
+            List<Integer> topoOrder = new TopologicalSort().sort(originalGraph, topoMetrics);
             Metrics sccMetrics = new Metrics();
-            List<List<Integer>> sccs = new SCCTarjan().findSCCs(originalGraph, sccMetrics);
-            printSCCs(sccs);
+            CondensationResult result;
+
+            boolean acyclic = topoOrder.size() == originalGraph.getVertexCount();
+            if (acyclic) {
+                // DAG fast path: run on the original graph with an identity mapping
+                System.out.println("Graph is acyclic: skipping SCC and condensation");
+                result = CondensationResult.identity(originalGraph, topoOrder);
+            } else {
+                // SCC + Condensation, numbered in topological order straight from Tarjan
+                result = CondensationBuilder.buildTopological(originalGraph, sccMetrics);
+                printSCCs(result);
+                topoOrder = result.getTopologicalOrder();
+            }
 
-            CondensationResult result = CondensationBuilder.build(originalGraph, sccs);
             Graph dag = result.getDag();
             int sourceSuper = result.getSuperId(sourceId);
 
@@ -45,10 +57,6 @@ public class Main {
                 System.out.println("Source vertex " + sourceId + " not found in graph!");
                 continue;
             }
-
-            //Topological Sort
-            Metrics topoMetrics = new Metrics();
-            List<Integer> topoOrder = new TopologicalSort().sort(dag, topoMetrics);
             System.out.println("Topological order: " + topoOrder);
 
             // Shortest path
@@ -80,9 +88,10 @@ public class Main {
 
             // Critical path
             Metrics lpMetrics = new Metrics();
-            DagLongestPath lp = new DagLongestPath();
-            int criticalLength = lp.compute(dag, sourceSuper, lpMetrics);
-            List<Integer> lpSuperPath = lp.reconstructLongestPath(dag, sourceSuper, lpMetrics);
+            DagLongestPath.Result lpResult = new DagLongestPath()
+                    .analyze(dag, sourceSuper, topoOrder, lpMetrics);
+            int criticalLength = lpResult.getLength();
+            List<Integer> lpSuperPath = lpResult.getCriticalPath();
             List<Integer> lpOriginalPath = lpSuperPath.stream()
                     .flatMap(id -> result.getOriginalVertices(id).stream())
                     .toList();
@@ -92,17 +101,17 @@ public class Main {
 
             // Metrics Summary
             System.out.println("\n--- Performance Metrics ---");
-            System.out.println("SCC          : " + sccMetrics);
-            System.out.println("Topo sort    : " + topoMetrics);
+            System.out.println("SCC          : " + (acyclic ? "skipped (acyclic input)" : sccMetrics));
+            System.out.println("Topo sort    : " + (acyclic ? topoMetrics : "fused with SCC"));
             System.out.println("Shortest path: " + spMetrics);
             System.out.println("Critical path: " + lpMetrics);
           }
     }
 
-    private static void printSCCs(List<List<Integer>> sccs) {
-        System.out.println("Strongly Connected Components (" + sccs.size() + "):");
-        for (int i = 0; i < sccs.size(); i++) {
-            List<Integer> comp = sccs.get(i);
+    private static void printSCCs(CondensationResult result) {
+        System.out.println("Strongly Connected Components (" + result.getComponentCount() + "):");
+        for (int i = 0; i < result.getComponentCount(); i++) {
+            List<Integer> comp = result.getOriginalVertices(i);
             System.out.printf("  C%-2d [size=%2d]: %s%n", i, comp.size(), comp);
         }
     }
@@ -1,16 +1,22 @@
 package graph.dagsp;
 
-import graph.models.Edge;
-import graph.models.Graph;
-import graph.models.Vertex;
+import graph.models.Digraph;
+import graph.models.EdgeConsumer;
+import graph.topo.TopologicalLevels;
 import graph.topo.TopologicalSort;
+import graph.utils.Deadline;
 import graph.utils.Metrics;
+import graph.utils.ParallelLoops;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Computes the longest (critical) path in a DAG using dynamic programming
  * over topological order.
+ * {@link #analyze} performs a full critical path analysis in one forward and one
+ * backward pass; compute and reconstructLongestPath are shortcuts over its result.
  */
 public class DagLongestPath {
 
@@ -22,55 +28,151 @@ public class DagLongestPath {
      * @param metrics  performance metrics recorder
      * @return length of the longest path from source
      */
-    public int compute(Graph dag, int sourceId, Metrics metrics) {
+    public int compute(Digraph dag, int sourceId, Metrics metrics) {
+        return analyze(dag, sourceId, metrics).getLength();
+    }
+
+    /**
+     * Reconstructs the longest path from sourceId.
+     * Returns the path that reaches the farthest vertex.
+     *
+     * @param dag      the directed acyclic graph
+     * @param sourceId ID of the starting vertex
+     * @param metrics  performance metrics recorder
+     * @return list of vertex IDs representing the longest path
+     */
+    public List<Integer> reconstructLongestPath(Digraph dag, int sourceId, Metrics metrics) {
+        return analyze(dag, sourceId, metrics).getCriticalPath();
+    }
+
+    /**
+     * Runs critical path analysis, computing the topological order first.
+     * @see #analyze(Digraph, int, List, Metrics)
+     */
+    public Result analyze(Digraph dag, int sourceId, Metrics metrics) {
+        List<Integer> topoOrder = new TopologicalSort().sort(dag, new Metrics());
+        return analyze(dag, sourceId, topoOrder, metrics);
+    }
+
+    /**
+     * Runs critical path analysis (CPM) from sourceId over a known topological order.
+     * The forward pass computes longest distances, which are the earliest start times,
+     * together with predecessors. The backward pass computes latest start times: a vertex
+     * without successors may start as late as the length of the critical path, any other
+     * vertex no later than the tightest of its successors allows.
+     *
+     * @param dag       the directed acyclic graph
+     * @param sourceId  ID of the starting vertex
+     * @param topoOrder list of vertex IDs in topological order
+     * @param metrics   performance metrics recorder
+     * @return distances, predecessors, start times and slack for every vertex
+     */
+    public Result analyze(Digraph dag, int sourceId, List<Integer> topoOrder, Metrics metrics) {
+        return analyze(dag, sourceId, topoOrder, metrics, Deadline.none());
+    }
+
+    /**
+     * Runs critical path analysis until the deadline expires, checking it against the
+     * relaxation count. If it expires during the forward pass, the result is marked
+     * incomplete: distances are lower bounds, the length is that of the longest path
+     * found so far, and latest starts are not computed (Integer.MIN_VALUE).
+     *
+     * @param dag       the directed acyclic graph
+     * @param sourceId  ID of the starting vertex
+     * @param topoOrder list of vertex IDs in topological order
+     * @param metrics   performance metrics recorder
+     * @param deadline  time budget or cancellation flag
+     * @return distances, predecessors, start times and slack for every vertex
+     */
+    public Result analyze(Digraph dag, int sourceId, List<Integer> topoOrder, Metrics metrics, Deadline deadline) {
         metrics.startTimer();
 
         int n = dag.getVertexCount();
         int[] dist = new int[n];
+        int[] prev = new int[n];
         Arrays.fill(dist, Integer.MIN_VALUE);
+        Arrays.fill(prev, -1);
         dist[sourceId] = 0;
 
-        // Get topological order
-        graph.topo.TopologicalSort topoSort = new graph.topo.TopologicalSort();
-        List<Integer> topoOrder = topoSort.sort(dag, new Metrics());
-
-        // DP: maximize distances in topological order
-        for (int uId : topoOrder) {
-            if (dist[uId] == Integer.MIN_VALUE) continue;
+        EdgeConsumer relax = (uId, vId, weight) -> {
+            metrics.incrementRelaxations();
+            int newDist = dist[uId] + weight;
 
-            Vertex u = dag.getVertex(uId);
-            for (Edge e : dag.getOutgoing(u)) {
-                metrics.incrementRelaxations();
-                int vId = e.getTo().getId();
-                int newDist = dist[uId] + e.getWeight();
+            if (newDist > dist[vId]) {
+                dist[vId] = newDist;
+                prev[vId] = uId;
+            }
+        };
 
-                if (newDist > dist[vId]) {
-                    dist[vId] = newDist;
-                }
+        // Forward pass: maximize distances in topological order
+        int[] order = new int[topoOrder.size()];
+        int count = 0;
+        boolean complete = true;
+        for (int uId : topoOrder) {
+            if (deadline.shouldStop(metrics.getRelaxationsCount())) {
+                complete = false;
+                break;
             }
+            if (dist[uId] == Integer.MIN_VALUE) continue;
+            order[count++] = uId;
+            dag.forEachOut(uId, relax);
         }
 
-        // Find maximum distance (longest path length)
+        // Find vertex with maximum distance
+        int target = sourceId;
         int maxDist = 0;
-        for (int d : dist) {
-            if (d != Integer.MIN_VALUE && d > maxDist) {
-                maxDist = d;
+        for (int i = 0; i < n; i++) {
+            if (dist[i] != Integer.MIN_VALUE && dist[i] > maxDist) {
+                maxDist = dist[i];
+                target = i;
             }
         }
 
-        return maxDist;
+        // Backward pass over the reachable vertices only
+        int[] latest = new int[n];
+        Arrays.fill(latest, Integer.MIN_VALUE);
+        if (!complete) return new Result(sourceId, target, dist, prev, latest, false);
+        int length = maxDist;
+        EdgeConsumer tighten = (uId, vId, weight) -> {
+            metrics.incrementEdgeTraversals();
+            latest[uId] = Math.min(latest[uId], latest[vId] - weight);
+        };
+        for (int i = count - 1; i >= 0; i--) {
+            int uId = order[i];
+            latest[uId] = dag.getOutDegree(uId) == 0 ? length : Integer.MAX_VALUE;
+            dag.forEachOut(uId, tighten);
+        }
+
+        return new Result(sourceId, target, dist, prev, latest);
     }
 
     /**
-     * Reconstructs the longest path from sourceId.
-     * Returns the path that reaches the farthest vertex.
+     * Runs critical path analysis level by level on the common pool.
+     * @see #analyzeParallel(Digraph, int, TopologicalLevels, ForkJoinPool, Metrics)
+     */
+    public Result analyzeParallel(Digraph dag, int sourceId, TopologicalLevels levels, Metrics metrics) {
+        return analyzeParallel(dag, sourceId, levels, ForkJoinPool.commonPool(), metrics);
+    }
+
+    /**
+     * Runs critical path analysis as a wavefront over topological levels. The forward
+     * pass processes levels in order and pulls each vertex's distance from its incoming
+     * edges; the backward pass processes levels in reverse and pulls latest starts from
+     * outgoing edges. Vertices of one level run concurrently and each array entry has a
+     * single writer. Results equal those of analyze, except that among equally long
+     * predecessors the first incoming edge wins.
      *
      * @param dag      the directed acyclic graph
      * @param sourceId ID of the starting vertex
+     * @param levels   topological levels from ParallelTopologicalSort
+     * @param pool     pool running each level
      * @param metrics  performance metrics recorder
-     * @return list of vertex IDs representing the longest path
+     * @return distances, predecessors, start times and slack for every vertex
      */
-    public List<Integer> reconstructLongestPath(Graph dag, int sourceId, Metrics metrics) {
+    public Result analyzeParallel(Digraph dag, int sourceId, TopologicalLevels levels,
+                                  ForkJoinPool pool, Metrics metrics) {
+        metrics.startTimer();
+
         int n = dag.getVertexCount();
         int[] dist = new int[n];
         int[] prev = new int[n];
@@ -78,27 +180,29 @@ public class DagLongestPath {
         Arrays.fill(prev, -1);
         dist[sourceId] = 0;
 
-        // Get topological order
-        graph.topo.TopologicalSort topoSort = new graph.topo.TopologicalSort();
-        List<Integer> topoOrder = topoSort.sort(dag, new Metrics());
-
-        // DP with predecessor tracking
-        for (int uId : topoOrder) {
-            if (dist[uId] == Integer.MIN_VALUE) continue;
-
-            Vertex u = dag.getVertex(uId);
-            for (Edge e : dag.getOutgoing(u)) {
-                int vId = e.getTo().getId();
-                int newDist = dist[uId] + e.getWeight();
-
-                if (newDist > dist[vId]) {
-                    dist[vId] = newDist;
-                    prev[vId] = uId;
+        int[] order = levels.getOrderArray();
+        int[] offsets = levels.getLevelOffsets();
+        int levelCount = levels.getLevelCount();
+        int grain = DagShortestPath.LEVEL_GRAIN;
+        LongAdder relaxations = new LongAdder();
+        for (int level = 1; level < levelCount; level++) {
+            ParallelLoops.forEachRange(pool, offsets[level], offsets[level + 1], grain, (from, to) -> {
+                PullLongest pull = new PullLongest(dist);
+                long edges = 0;
+                for (int i = from; i < to; i++) {
+                    int vId = order[i];
+                    if (vId == sourceId) continue;
+                    pull.best = Integer.MIN_VALUE;
+                    pull.bestPred = -1;
+                    dag.forEachIn(vId, pull);
+                    edges += dag.getInDegree(vId);
+                    dist[vId] = pull.best;
+                    prev[vId] = pull.bestPred;
                 }
-            }
+                relaxations.add(edges);
+            });
         }
 
-        // Find vertex with maximum distance
         int target = sourceId;
         int maxDist = 0;
         for (int i = 0; i < n; i++) {
@@ -108,14 +212,140 @@ public class DagLongestPath {
             }
         }
 
-        // Reconstruct path
-        List<Integer> path = new ArrayList<>();
-        for (int v = target; v != -1; v = prev[v]) {
-            path.add(v);
-            if (v == sourceId) break;
+        int[] latest = new int[n];
+        Arrays.fill(latest, Integer.MIN_VALUE);
+        int length = maxDist;
+        LongAdder traversals = new LongAdder();
+        for (int level = levelCount - 1; level >= 0; level--) {
+            ParallelLoops.forEachRange(pool, offsets[level], offsets[level + 1], grain, (from, to) -> {
+                PullLatest pull = new PullLatest(latest);
+                long edges = 0;
+                for (int i = from; i < to; i++) {
+                    int uId = order[i];
+                    if (dist[uId] == Integer.MIN_VALUE) continue;
+                    pull.bound = dag.getOutDegree(uId) == 0 ? length : Integer.MAX_VALUE;
+                    dag.forEachOut(uId, pull);
+                    edges += dag.getOutDegree(uId);
+                    latest[uId] = pull.bound;
+                }
+                traversals.add(edges);
+            });
+        }
+
+        metrics.incrementRelaxations(relaxations.sum());
+        metrics.incrementEdgeTraversals(traversals.sum());
+        return new Result(sourceId, target, dist, prev, latest);
+    }
+
+    /** Pulls the longest distance over incoming edges; reused for every vertex of a range */
+    private static final class PullLongest implements EdgeConsumer {
+        private final int[] dist;
+        int best;
+        int bestPred;
+
+        PullLongest(int[] dist) {
+            this.dist = dist;
+        }
+
+        @Override
+        public void accept(int uId, int vId, int weight) {
+            if (dist[uId] == Integer.MIN_VALUE) return;
+            int newDist = dist[uId] + weight;
+            if (newDist > best) {
+                best = newDist;
+                bestPred = uId;
+            }
+        }
+    }
+
+    /** Pulls the latest start over outgoing edges; reused for every vertex of a range */
+    private static final class PullLatest implements EdgeConsumer {
+        private final int[] latest;
+        int bound;
+
+        PullLatest(int[] latest) {
+            this.latest = latest;
         }
-        Collections.reverse(path);
 
-        return path;
+        @Override
+        public void accept(int uId, int vId, int weight) {
+            bound = Math.min(bound, latest[vId] - weight);
+        }
+    }
+
+    /**
+     * Result of critical path analysis from one source. Vertices not reachable from
+     * the source are not part of the schedule: their distance and start times are
+     * Integer.MIN_VALUE and their slack is Integer.MAX_VALUE.
+     */
+    public static class Result {
+        private final int source;
+        private final int target;
+        private final int[] dist;
+        private final int[] prev;
+        private final int[] latest;
+        private final boolean complete;
+
+        public Result(int source, int target, int[] dist, int[] prev, int[] latest) {
+            this(source, target, dist, prev, latest, true);
+        }
+
+        /**
+         * @param complete false if the analysis stopped at a deadline
+         */
+        public Result(int source, int target, int[] dist, int[] prev, int[] latest, boolean complete) {
+            this.source = source;
+            this.target = target;
+            this.dist = dist;
+            this.prev = prev;
+            this.latest = latest;
+            this.complete = complete;
+        }
+
+        /** return false if the analysis was stopped before it finished */
+        public boolean isComplete() { return complete; }
+
+        /** return length of the critical path (0 if nothing is reachable) */
+        public int getLength() { return target == source ? 0 : dist[target]; }
+
+        /** return farthest vertex from the source, i.e. the end of the critical path */
+        public int getTarget() { return target; }
+
+        /** return array of longest distances from source; equal to the earliest start times */
+        public int[] getDistances() { return dist; }
+
+        /** return array of predecessors on the longest paths */
+        public int[] getPredecessors() { return prev; }
+
+        /** return array of latest start times that do not delay the critical path */
+        public int[] getLatestStarts() { return latest; }
+
+        public boolean isReachable(int v) { return dist[v] != Integer.MIN_VALUE; }
+
+        public int getEarliestStart(int v) { return dist[v]; }
+
+        public int getLatestStart(int v) { return latest[v]; }
+
+        /** return how far a vertex may slip without delaying the critical path */
+        public int getSlack(int v) {
+            return isReachable(v) ? latest[v] - dist[v] : Integer.MAX_VALUE;
+        }
+
+        /** return true if the vertex is reachable and has no slack */
+        public boolean isCritical(int v) { return getSlack(v) == 0; }
+
+        /**
+         * Reconstructs the critical path from the source to the farthest vertex.
+         * @return list of vertex IDs representing the longest path
+         */
+        public List<Integer> getCriticalPath() {
+            List<Integer> path = new ArrayList<>();
+            for (int v = target; v != -1; v = prev[v]) {
+                path.add(v);
+                if (v == source) break;
+            }
+            Collections.reverse(path);
+            return path;
+        }
     }
 }
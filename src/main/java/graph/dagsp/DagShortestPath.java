@@ -1,14 +1,23 @@
 package graph.dagsp;
 
-import graph.models.Edge;
-import graph.models.Graph;
-import graph.models.Vertex;
+import graph.models.Digraph;
+import graph.models.EdgeConsumer;
+import graph.topo.DynamicTopologicalOrder;
+import graph.topo.TopologicalLevels;
+import graph.utils.Deadline;
+import graph.utils.IntIntHashMap;
 import graph.utils.Metrics;
+import graph.utils.ParallelLoops;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Provides shortest path computation on a Directed Acyclic Graph (DAG)
@@ -16,6 +25,8 @@ import java.util.List;
  * Time Complexity: O(V + E)
  */
 public class DagShortestPath {
+    static final int LEVEL_GRAIN = 1 << 9;
+
     /**
      * Computes shortest paths from the given source vertex using a topological order.
      * @param dag        the directed acyclic graph
@@ -24,7 +35,24 @@ public class DagShortestPath {
      * @param metrics    performance metrics recorder
      * @return a Result object containing distance and predecessor arrays
      */
-    public Result compute(Graph dag, int sourceId, List<Integer> topoOrder, Metrics metrics) {
+    public Result compute(Digraph dag, int sourceId, List<Integer> topoOrder, Metrics metrics) {
+        return compute(dag, sourceId, topoOrder, metrics, Deadline.none());
+    }
+
+    /**
+     * Computes shortest paths until the deadline expires, checking it against the
+     * relaxation count. If it expires, the result is marked incomplete: the first
+     * getSettledCount() vertices of topoOrder have final distances, the others only
+     * upper bounds.
+     *
+     * @param dag        the directed acyclic graph
+     * @param sourceId   the ID of the source vertex
+     * @param topoOrder  list of vertex IDs in topological order
+     * @param metrics    performance metrics recorder
+     * @param deadline   time budget or cancellation flag
+     * @return a Result object containing distance and predecessor arrays
+     */
+    public Result compute(Digraph dag, int sourceId, List<Integer> topoOrder, Metrics metrics, Deadline deadline) {
         metrics.startTimer();
         int n = dag.getVertexCount();
         int[] dist = new int[n];
@@ -33,44 +61,432 @@ public class DagShortestPath {
         Arrays.fill(prev, -1);
         dist[sourceId] = 0;
 
+        EdgeConsumer relax = (uId, vId, weight) -> {
+            metrics.incrementRelaxations();
+            int cand =  (dist[uId] + weight);
+
+            if (cand < dist[vId]) {
+                dist[vId] = cand;
+                prev[vId] = uId;
+            }
+        };
+
+        int settled = 0;
         for (int uId : topoOrder) {
+            if (deadline.shouldStop(metrics.getRelaxationsCount())) break;
+            settled++;
             if (dist[uId] == Integer.MAX_VALUE) continue;
-            Vertex u = dag.getVertex(uId);
+            dag.forEachOut(uId, relax);
+        }
+
+        return new Result(sourceId, dist, prev, settled, settled == topoOrder.size());
+    }
+
+    /**
+     * Computes shortest paths level by level on the common pool.
+     * @see #computeParallel(Digraph, int, TopologicalLevels, ForkJoinPool, Metrics)
+     */
+    public Result computeParallel(Digraph dag, int sourceId, TopologicalLevels levels, Metrics metrics) {
+        return computeParallel(dag, sourceId, levels, ForkJoinPool.commonPool(), metrics);
+    }
 
-            for (Edge e : dag.getOutgoing(u)) {
-                metrics.incrementRelaxations();
-                int vId = e.getTo().getId();
-                int cand =  (dist[uId] + e.getWeight());
+    /**
+     * Computes shortest paths as a wavefront over topological levels. Vertices of one
+     * level do not depend on each other, so they are processed concurrently; each pulls
+     * its distance from its incoming edges, so every dist[] entry has a single writer.
+     * Distances equal those of the sequential version; among equally short predecessors
+     * the first incoming edge wins.
+     *
+     * @param dag      the directed acyclic graph
+     * @param sourceId the ID of the source vertex
+     * @param levels   topological levels from ParallelTopologicalSort
+     * @param pool     pool running each level
+     * @param metrics  performance metrics recorder
+     * @return a Result object containing distance and predecessor arrays
+     */
+    public Result computeParallel(Digraph dag, int sourceId, TopologicalLevels levels,
+                                  ForkJoinPool pool, Metrics metrics) {
+        metrics.startTimer();
+        int n = dag.getVertexCount();
+        int[] dist = new int[n];
+        int[] prev = new int[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        Arrays.fill(prev, -1);
+        dist[sourceId] = 0;
 
-                if (cand < dist[vId]) {
-                    dist[vId] = cand;
-                    prev[vId] = uId;
+        int[] order = levels.getOrderArray();
+        int[] offsets = levels.getLevelOffsets();
+        LongAdder relaxations = new LongAdder();
+        for (int level = 1; level < levels.getLevelCount(); level++) {
+            ParallelLoops.forEachRange(pool, offsets[level], offsets[level + 1], LEVEL_GRAIN, (from, to) -> {
+                PullShortest pull = new PullShortest(dist);
+                long edges = 0;
+                for (int i = from; i < to; i++) {
+                    int vId = order[i];
+                    pull.best = Integer.MAX_VALUE;
+                    pull.bestPred = -1;
+                    dag.forEachIn(vId, pull);
+                    edges += dag.getInDegree(vId);
+                    if (vId != sourceId) {
+                        dist[vId] = pull.best;
+                        prev[vId] = pull.bestPred;
+                    }
                 }
+                relaxations.add(edges);
+            });
+        }
+        metrics.incrementRelaxations(relaxations.sum());
+        return new Result(sourceId, dist, prev);
+    }
+
+    /** Pulls the shortest distance over incoming edges; reused for every vertex of a range */
+    private static final class PullShortest implements EdgeConsumer {
+        private final int[] dist;
+        int best;
+        int bestPred;
+
+        PullShortest(int[] dist) {
+            this.dist = dist;
+        }
+
+        @Override
+        public void accept(int uId, int vId, int weight) {
+            if (dist[uId] == Integer.MAX_VALUE) return;
+            int cand = dist[uId] + weight;
+            if (cand < best) {
+                best = cand;
+                bestPred = uId;
             }
         }
+    }
+
+    /**
+     * Computes shortest paths from the source restricted to the vertices it reaches.
+     * The forward cone is collected first, counting for every cone vertex its incoming
+     * edges from inside the cone; Kahn's algorithm over those counts then yields the cone
+     * in topological order, with the source as its only root. No global topological order
+     * and no arrays of size V are needed, so the cost is linear in the size of the cone.
+     *
+     * @param dag      the directed acyclic graph
+     * @param sourceId the ID of the source vertex
+     * @param metrics  performance metrics recorder
+     * @return distances and predecessors of the reachable vertices only
+     */
+    public SparseResult computeFromSource(Digraph dag, int sourceId, Metrics metrics) {
+        metrics.startTimer();
+        Objects.checkIndex(sourceId, dag.getVertexCount());
+        return sweep(dag, collect(dag, new Cone(sourceId), metrics), metrics);
+    }
+
+    /**
+     * Computes the shortest path between two vertices, visiting only the vertices that
+     * lie on some path between them. The forward cone of the source is collected first;
+     * if it holds the target, the vertices reaching the target are marked by a backward
+     * search confined to that cone, and the sweep runs over this corridor alone. The
+     * cost is linear in the forward cone of the source; ancestors of the target that
+     * the source does not reach are never visited.
+     *
+     * @param dag      the directed acyclic graph
+     * @param sourceId the ID of the source vertex
+     * @param targetId the ID of the target vertex
+     * @param metrics  performance metrics recorder
+     * @return result over the vertices between source and target; use
+     *         reconstructPath(targetId) for the path, empty if there is none
+     */
+    public SparseResult compute(Digraph dag, int sourceId, int targetId, Metrics metrics) {
+        metrics.startTimer();
+        Objects.checkIndex(sourceId, dag.getVertexCount());
+        Objects.checkIndex(targetId, dag.getVertexCount());
+
+        Cone reachable = collect(dag, new Cone(sourceId), metrics);
+        if (!reachable.index.containsKey(targetId)) return sweep(dag, new Cone(sourceId), metrics);
+
+        // Backward marking inside the forward cone: every vertex between source and target
+        Cone between = new Cone(targetId, reachable.index, true);
+        for (int head = 0; head < between.count; head++) {
+            metrics.incrementDfsVisits();
+            dag.forEachIn(between.vertices[head], between);
+        }
+
+        Cone corridor = collect(dag, new Cone(sourceId, between.index, false), metrics);
+        return sweep(dag, corridor, metrics);
+    }
 
-        return new Result(dist, prev);
+    /** Grows a forward cone until all its vertices are scanned */
+    private static Cone collect(Digraph dag, Cone cone, Metrics metrics) {
+        for (int head = 0; head < cone.count; head++) {
+            metrics.incrementDfsVisits();
+            dag.forEachOut(cone.vertices[head], cone);
+        }
+        return cone;
     }
 
     /**
-     * Immutable result of shortest path computation, containing
-     * both distance and predecessor arrays, and path reconstruction.
+     * Relaxes a collected forward cone in topological order (Kahn's algorithm over the
+     * in-cone in-degrees).
+     */
+    private static SparseResult sweep(Digraph dag, Cone cone, Metrics metrics) {
+        ConeRelax relax = new ConeRelax(cone, metrics);
+        int head = 0;
+        while (head < relax.tail) {
+            relax.u = relax.queue[head++];
+            dag.forEachOut(cone.vertices[relax.u], relax);
+        }
+
+        int[] order = new int[head];
+        for (int i = 0; i < order.length; i++) order[i] = cone.vertices[relax.queue[i]];
+        return new SparseResult(cone.vertices[0], cone.index, relax.dist, relax.prev, order);
+    }
+
+    /** Relaxes the out-edges of cone vertex u, kept by local index, and queues the vertices it frees */
+    private static final class ConeRelax implements EdgeConsumer {
+        private final IntIntHashMap index;
+        private final int[] inDegree;
+        private final Metrics metrics;
+        final int[] dist;
+        final int[] prev;
+        final int[] queue;
+        int tail = 1;
+        int u;
+
+        ConeRelax(Cone cone, Metrics metrics) {
+            this.index = cone.index;
+            this.inDegree = cone.inDegree;
+            this.metrics = metrics;
+            dist = new int[cone.count];
+            prev = new int[cone.count];
+            queue = new int[cone.count];
+            Arrays.fill(dist, Integer.MAX_VALUE);
+            Arrays.fill(prev, -1);
+            dist[0] = 0;
+        }
+
+        @Override
+        public void accept(int uId, int vId, int weight) {
+            int v = index.get(vId, -1);
+            if (v == -1) return;
+            metrics.incrementRelaxations();
+            int cand = dist[u] + weight;
+            if (cand < dist[v]) {
+                dist[v] = cand;
+                prev[v] = uId;
+            }
+            if (--inDegree[v] == 0) queue[tail++] = v;
+        }
+    }
+
+    /**
+     * Vertices reachable from a start vertex (or reaching it, if backward), grown while
+     * edges are scanned and optionally restricted to the keys of a filter map. inDegree
+     * counts, per vertex, the scanned edges leading to it.
+     */
+    private static final class Cone implements EdgeConsumer {
+        final IntIntHashMap index = new IntIntHashMap();
+        final IntIntHashMap filter;
+        final boolean backward;
+        int[] vertices = new int[16];
+        int[] inDegree = new int[16];
+        int count;
+
+        Cone(int start) {
+            this(start, null, false);
+        }
+
+        Cone(int start, IntIntHashMap filter, boolean backward) {
+            this.filter = filter;
+            this.backward = backward;
+            index.put(start, 0);
+            vertices[count++] = start;
+        }
+
+        @Override
+        public void accept(int from, int to, int weight) {
+            int next = backward ? from : to;
+            if (filter != null && !filter.containsKey(next)) return;
+            int i = index.get(next, -1);
+            if (i == -1) {
+                if (count == vertices.length) {
+                    vertices = Arrays.copyOf(vertices, count * 2);
+                    inDegree = Arrays.copyOf(inDegree, count * 2);
+                }
+                i = count++;
+                index.put(next, i);
+                vertices[i] = next;
+            }
+            inDegree[i]++;
+        }
+    }
+
+    /**
+     * Shortest path result over the reachable cone of one source. Vertices are looked
+     * up through a primitive hash map, so memory is proportional to the cone.
+     */
+    public static class SparseResult {
+        private final int source;
+        private final IntIntHashMap index;
+        private final int[] dist;
+        private final int[] prev;
+        private final int[] order;
+
+        public SparseResult(int source, IntIntHashMap index, int[] dist, int[] prev, int[] order) {
+            this.source = source;
+            this.index = index;
+            this.dist = dist;
+            this.prev = prev;
+            this.order = order;
+        }
+
+        /** return number of vertices reachable from the source, including itself */
+        public int getReachableCount() { return order.length; }
+
+        /** return reachable vertices in topological order, starting with the source */
+        public List<Integer> getReachableVertices() {
+            return new AbstractList<>() {
+                @Override public Integer get(int i) { return order[Objects.checkIndex(i, order.length)]; }
+                @Override public int size() { return order.length; }
+            };
+        }
+
+        public boolean isReachable(int v) { return getDistance(v) != Integer.MAX_VALUE; }
+
+        /** return shortest distance from source, or Integer.MAX_VALUE if unreachable */
+        public int getDistance(int v) {
+            int i = index.get(v, -1);
+            return i == -1 ? Integer.MAX_VALUE : dist[i];
+        }
+
+        /** return predecessor on the shortest path, or -1 */
+        public int getPredecessor(int v) {
+            int i = index.get(v, -1);
+            return i == -1 ? -1 : prev[i];
+        }
+
+        /**
+         * Reconstructs the shortest path from the source to target.
+         * If the target is unreachable, returns an empty list.
+         */
+        public List<Integer> reconstructPath(int target) {
+            List<Integer> path = new ArrayList<>();
+            if (!isReachable(target)) return path;
+
+            for (int v = target; v != -1; v = getPredecessor(v)) {
+                path.add(v);
+                if (v == source) break;
+            }
+            Collections.reverse(path);
+            return path;
+        }
+    }
+
+    /**
+     * Result of shortest path computation, containing both distance and
+     * predecessor arrays, and path reconstruction. A result is never modified;
+     * {@link #repair} returns an updated copy after the graph was modified.
      */
     public static class Result {
+        private final int source;
         private final int[] dist;
         private final int[] prev;
+        private final int settled;
+        private final boolean complete;
+
+        public Result(int source, int[] dist, int[] prev) {
+            this(source, dist, prev, dist.length, true);
+        }
 
-        public Result(int[] dist, int[] prev) {
+        /**
+         * @param settled  number of leading topological order vertices with final distances
+         * @param complete false if the computation stopped at a deadline
+         */
+        public Result(int source, int[] dist, int[] prev, int settled, boolean complete) {
+            this.source = source;
             this.dist = dist;
             this.prev = prev;
+            this.settled = settled;
+            this.complete = complete;
         }
 
+        /** return source vertex the distances are measured from */
+        public int getSource() { return source; }
+
+        /** return false if the computation was stopped before the whole order was processed */
+        public boolean isComplete() { return complete; }
+
+        /** return number of vertices, in topological order, whose distance is final */
+        public int getSettledCount() { return settled; }
+
         /** return array of shortest distances from source*/
         public int[] getDistances() { return dist; }
 
         /** return array of predecessors for path reconstruction */
         public int[] getPredecessors() { return prev; }
 
+        /**
+         * Repairs the result after the incoming edges of one vertex changed, using the
+         * positions of the graph's maintained topological order.
+         * @see #repair(Digraph, IntUnaryOperator, int, Metrics)
+         */
+        public Result repair(DynamicTopologicalOrder dag, int vertex, Metrics metrics) {
+            return repair(dag, dag::getPosition, vertex, metrics);
+        }
+
+        /**
+         * Returns the result updated after the incoming edges of one vertex changed:
+         * an edge into it was inserted or deleted, or its weight was changed.
+         * The vertex's distance is pulled from its incoming edges; only if it changed are
+         * its successors put on a worklist ordered by topological position, and every
+         * vertex taken from it passes the change on only if its own distance changed.
+         * The repair stops as soon as the worklist is empty, so it costs O(in-degree)
+         * when nothing changes and otherwise touches only the changed vertices, their
+         * successors and those successors' incoming edges, plus one O(V) copy of the
+         * arrays. Among equally short predecessors the first incoming edge wins.
+         *
+         * @param dag      the modified graph, still acyclic
+         * @param position topological position of every vertex in the modified graph
+         * @param vertex   head of the changed edge
+         * @param metrics  performance metrics recorder
+         * @return this result if nothing changed, otherwise a repaired copy
+         * @throws IllegalStateException if the result was stopped at a deadline
+         */
+        public Result repair(Digraph dag, IntUnaryOperator position, int vertex, Metrics metrics) {
+            if (!complete) throw new IllegalStateException("cannot repair an incomplete result");
+            Objects.checkIndex(vertex, dist.length);
+            metrics.startTimer();
+            if (vertex == source) return this;
+
+            PullShortest pull = new PullShortest(dist);
+            pull(dag, vertex, pull, metrics);
+            if (pull.best == dist[vertex] && pull.bestPred == prev[vertex]) return this;
+
+            int[] repairedDist = dist.clone();
+            int[] repairedPrev = prev.clone();
+            repairedDist[vertex] = pull.best;
+            repairedPrev[vertex] = pull.bestPred;
+            if (pull.best != dist[vertex]) {
+                pull = new PullShortest(repairedDist);
+                Worklist worklist = new Worklist(position);
+                dag.forEachOut(vertex, worklist);
+                for (int last = -1; !worklist.isEmpty(); ) {
+                    int u = worklist.poll();
+                    // Duplicates share a position and leave the heap one after another
+                    if (u == last || u == source) continue;
+                    last = u;
+                    pull(dag, u, pull, metrics);
+                    if (pull.best != repairedDist[u]) dag.forEachOut(u, worklist);
+                    repairedDist[u] = pull.best;
+                    repairedPrev[u] = pull.bestPred;
+                }
+            }
+            return new Result(source, repairedDist, repairedPrev, settled, true);
+        }
+
+        private static void pull(Digraph dag, int vertex, PullShortest pull, Metrics metrics) {
+            pull.best = Integer.MAX_VALUE;
+            pull.bestPred = -1;
+            dag.forEachIn(vertex, pull);
+            metrics.incrementRelaxations(dag.getInDegree(vertex));
+        }
+
         /**
          * Reconstructs one optimal path from source to target.
          * If the target is unreachable, returns an empty list.
@@ -90,4 +506,42 @@ public class DagShortestPath {
             return path;
         }
     }
+
+    /** Min-heap of vertices keyed by topological position; duplicates are allowed */
+    private static final class Worklist implements EdgeConsumer {
+        private final IntUnaryOperator position;
+        private long[] heap = new long[16];
+        private int size;
+
+        Worklist(IntUnaryOperator position) {
+            this.position = position;
+        }
+
+        @Override
+        public void accept(int from, int to, int weight) {
+            if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+            long key = ((long) position.applyAsInt(to) << 32) | to;
+            int i = size++;
+            while (i > 0 && heap[(i - 1) >>> 1] > key) {
+                heap[i] = heap[(i - 1) >>> 1];
+                i = (i - 1) >>> 1;
+            }
+            heap[i] = key;
+        }
+
+        boolean isEmpty() { return size == 0; }
+
+        int poll() {
+            long top = heap[0];
+            long key = heap[--size];
+            int i = 0;
+            for (int child; (child = 2 * i + 1) < size; i = child) {
+                if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+                if (heap[child] >= key) break;
+                heap[i] = heap[child];
+            }
+            heap[i] = key;
+            return (int) top;
+        }
+    }
 }
@@ -0,0 +1,146 @@
+package graph.dagsp;
+
+import graph.models.Digraph;
+import graph.models.EdgeConsumer;
+import graph.scc.CondensationResult;
+import graph.utils.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the k longest source-to-sink paths of a DAG in one sweep over topological order.
+ * Every vertex keeps a bounded candidate list of the k longest paths reaching it, stored
+ * in vertex-major int arrays of size V * k: length, predecessor vertex and the rank of the
+ * extended candidate within the predecessor's list. Relaxing an edge offers each of the
+ * source's candidates to the target, inserting into its sorted list while it beats the
+ * current k-th entry. Paths are rebuilt by following (vertex, rank) links back.
+ * Time complexity: O((V + E) * k^2) worst case, O((V + E) * k) typical.
+ */
+public class DagTopKPaths {
+
+    /**
+     * Computes the k longest paths from the source that end in a vertex without
+     * outgoing edges.
+     *
+     * @param dag       the directed acyclic graph
+     * @param sourceId  ID of the starting vertex
+     * @param k         maximum number of paths to return
+     * @param topoOrder list of vertex IDs in topological order
+     * @param metrics   performance metrics recorder
+     * @return up to k paths in order of decreasing length
+     */
+    public Result compute(Digraph dag, int sourceId, int k, List<Integer> topoOrder, Metrics metrics) {
+        if (k < 1) throw new IllegalArgumentException("k < 1: " + k);
+        metrics.startTimer();
+        int n = dag.getVertexCount();
+        int slots = Math.multiplyExact(n, k);
+        int[] length = new int[slots];
+        int[] predVertex = new int[slots];
+        int[] predRank = new int[slots];
+        int[] count = new int[n];
+        count[sourceId] = 1;
+        predVertex[sourceId * k] = -1;
+
+        EdgeConsumer relax = (u, v, weight) -> {
+            for (int i = 0; i < count[u]; i++) {
+                metrics.incrementRelaxations();
+                int cand = length[u * k + i] + weight;
+                // Lists are sorted descending, so later candidates of u are no better
+                if (!offer(v, k, cand, u, i, length, predVertex, predRank, count)) break;
+            }
+        };
+        for (int u : topoOrder) {
+            if (count[u] == 0) continue;
+            dag.forEachOut(u, relax);
+        }
+
+        // Best k candidates over all reached sinks
+        long[] keys = new long[16];
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            if (count[v] == 0 || dag.getOutDegree(v) != 0) continue;
+            for (int i = 0; i < count[v]; i++) {
+                if (size == keys.length) keys = Arrays.copyOf(keys, size * 2);
+                keys[size++] = ((long) length[v * k + i] << 32) | (v * k + i);
+            }
+        }
+        Arrays.sort(keys, 0, size);
+
+        int paths = Math.min(k, size);
+        int[] lengths = new int[paths];
+        List<List<Integer>> result = new ArrayList<>(paths);
+        for (int r = 0; r < paths; r++) {
+            long key = keys[size - 1 - r];
+            lengths[r] = (int) (key >> 32);
+            List<Integer> path = new ArrayList<>();
+            for (int slot = (int) key; slot != -1; ) {
+                int v = slot / k;
+                path.add(v);
+                int p = predVertex[slot];
+                slot = p == -1 ? -1 : p * k + predRank[slot];
+            }
+            Collections.reverse(path);
+            result.add(path);
+        }
+        return new Result(lengths, result);
+    }
+
+    /**
+     * Inserts a candidate into v's sorted list if it is among the k best.
+     * @return false if the list is full and the candidate does not beat its last entry
+     */
+    private static boolean offer(int v, int k, int cand, int u, int rank,
+                                 int[] length, int[] predVertex, int[] predRank, int[] count) {
+        int base = v * k;
+        int c = count[v];
+        if (c == k && cand <= length[base + k - 1]) return false;
+
+        int pos = Math.min(c, k - 1);
+        while (pos > 0 && length[base + pos - 1] < cand) {
+            length[base + pos] = length[base + pos - 1];
+            predVertex[base + pos] = predVertex[base + pos - 1];
+            predRank[base + pos] = predRank[base + pos - 1];
+            pos--;
+        }
+        length[base + pos] = cand;
+        predVertex[base + pos] = u;
+        predRank[base + pos] = rank;
+        if (c < k) count[v] = c + 1;
+        return true;
+    }
+
+    /**
+     * The longest paths found, ordered by decreasing length.
+     */
+    public static class Result {
+        private final int[] lengths;
+        private final List<List<Integer>> paths;
+
+        public Result(int[] lengths, List<List<Integer>> paths) {
+            this.lengths = lengths;
+            this.paths = paths;
+        }
+
+        /** return number of paths found, at most k */
+        public int getPathCount() { return paths.size(); }
+
+        /** return length of the path with the given rank, 0 being the longest */
+        public int getLength(int rank) { return lengths[rank]; }
+
+        /** return vertex IDs of the path with the given rank */
+        public List<Integer> getPath(int rank) { return paths.get(rank); }
+
+        /**
+         * Expands a path over condensation super IDs into the original vertices of
+         * each component along it.
+         */
+        public List<Integer> getOriginalPath(int rank, CondensationResult condensation) {
+            List<Integer> original = new ArrayList<>();
+            for (int superId : paths.get(rank)) original.addAll(condensation.getOriginalVertices(superId));
+            return original;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package graph.dagsp;
+
+import graph.models.Graph;
+import graph.topo.TopologicalSort;
+import graph.utils.Metrics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of path query results for one DAG.
+ * Entries are keyed by source and query kind and belong to the graph version they were
+ * computed for; the first lookup after an addEdge call sees a new version and drops every
+ * entry, including the cached topological order. The cache is bounded by weight, the
+ * total length of the cached arrays, and evicts the least recently used entries first.
+ * Cached results are shared between callers and must not be modified.
+ * Queries may run while other threads call addEdge: every computation works on the CSR
+ * arrays and version taken together under the graph's lock, arrays that addEdge
+ * replaces but never writes to, so a concurrent change only makes the result stale.
+ */
+public class PathQueryCache {
+    /** Query kinds that can be cached */
+    public enum Kind { SHORTEST, CRITICAL }
+
+    private final Graph dag;
+    private final long maxWeight;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long version = -1;
+    private long totalWeight;
+    private List<Integer> topoOrder;
+
+    private static final class Entry {
+        final Object value;
+        final long weight;
+
+        Entry(Object value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Snapshot {
+        final Graph graph;
+        final long version;
+
+        Snapshot(Graph graph, long version) {
+            this.graph = graph;
+            this.version = version;
+        }
+    }
+
+    /**
+     * @param dag       graph whose queries are cached
+     * @param maxWeight maximum total number of array elements held by cached results
+     */
+    public PathQueryCache(Graph dag, long maxWeight) {
+        if (maxWeight < 0) throw new IllegalArgumentException("maxWeight < 0: " + maxWeight);
+        this.dag = dag;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns shortest paths from source, computing them with DagShortestPath on a miss.
+     * @param source  the ID of the source vertex
+     * @param metrics records the hit or miss, and the computation on a miss
+     */
+    public DagShortestPath.Result shortest(int source, Metrics metrics) {
+        long key = key(source, Kind.SHORTEST);
+        Object cached = lookup(key, metrics);
+        if (cached != null) return (DagShortestPath.Result) cached;
+
+        Snapshot current = snapshot();
+        DagShortestPath.Result result = new DagShortestPath()
+                .compute(current.graph, source, topologicalOrder(current), metrics);
+        store(key, current.version, result, 2L * result.getDistances().length);
+        return result;
+    }
+
+    /**
+     * Returns the critical path analysis from source, computing it with DagLongestPath on a miss.
+     * @param source  the ID of the source vertex
+     * @param metrics records the hit or miss, and the computation on a miss
+     */
+    public DagLongestPath.Result critical(int source, Metrics metrics) {
+        long key = key(source, Kind.CRITICAL);
+        Object cached = lookup(key, metrics);
+        if (cached != null) return (DagLongestPath.Result) cached;
+
+        Snapshot current = snapshot();
+        DagLongestPath.Result result = new DagLongestPath()
+                .analyze(current.graph, source, topologicalOrder(current), metrics);
+        store(key, current.version, result, 3L * result.getDistances().length);
+        return result;
+    }
+
+    /** return topological order of the current graph version, computed once per version */
+    public List<Integer> getTopologicalOrder() {
+        return topologicalOrder(snapshot());
+    }
+
+    /** Topological order of a snapshot, cached while the snapshot is the current version */
+    private synchronized List<Integer> topologicalOrder(Snapshot current) {
+        checkVersion();
+        if (current.version == version && topoOrder != null) return topoOrder;
+        List<Integer> order = new TopologicalSort().sort(current.graph, new Metrics());
+        if (current.version == version) topoOrder = order;
+        return order;
+    }
+
+    /** Wraps the graph's current CSR arrays, read together with their version under the graph's lock */
+    private Snapshot snapshot() {
+        synchronized (dag) {
+            Graph graph = Graph.fromCsr(dag.getVertexCount(), dag.getOutOffsets(), dag.getOutTargets(),
+                    dag.getOutWeights(), dag.getInOffsets(), dag.getInSources(), dag.getInWeights());
+            return new Snapshot(graph, dag.getVersion());
+        }
+    }
+
+    /** Drops every cached entry */
+    public synchronized void invalidate() {
+        entries.clear();
+        totalWeight = 0;
+        topoOrder = null;
+    }
+
+    /** return number of cached results */
+    public synchronized int size() { return entries.size(); }
+
+    /** return total weight of cached results */
+    public synchronized long getWeight() { return totalWeight; }
+
+    private synchronized Object lookup(long key, Metrics metrics) {
+        checkVersion();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            metrics.incrementCacheMisses();
+            return null;
+        }
+        metrics.incrementCacheHits();
+        return entry.value;
+    }
+
+    private synchronized void store(long key, long computedFor, Object value, long weight) {
+        checkVersion();
+        // The graph changed while computing; the result is already stale
+        if (computedFor != version || weight > maxWeight) return;
+
+        Entry previous = entries.put(key, new Entry(value, weight));
+        if (previous != null) totalWeight -= previous.weight;
+        totalWeight += weight;
+
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (totalWeight > maxWeight) {
+            totalWeight -= eldest.next().getValue().weight;
+            eldest.remove();
+        }
+    }
+
+    private void checkVersion() {
+        long current = dag.getVersion();
+        if (current != version) {
+            invalidate();
+            version = current;
+        }
+    }
+
+    private static long key(int source, Kind kind) {
+        return ((long) source << 8) | kind.ordinal();
+    }
+}
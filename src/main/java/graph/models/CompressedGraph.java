@@ -0,0 +1,201 @@
+package graph.models;
+
+import java.util.Arrays;
+
+/**
+ * Read-only directed weighted graph with compressed adjacency lists.
+ * Every vertex owns one byte run per direction: its degree, then its neighbors in
+ * ascending ID order as gaps (the first one relative to the vertex itself, zigzag
+ * coded), each followed by the edge weight, all as variable-length integers of
+ * 7 bits per byte. Weights are left out entirely when all edges share one weight,
+ * and stored unsigned when none is negative, so small weights take a single byte.
+ * Neighbors are decoded sequentially during traversal; adjacency order is ascending
+ * neighbor ID rather than insertion order, with parallel edges kept in their
+ * original relative order. Each direction's byte run must fit in one array.
+ */
+public final class CompressedGraph implements Digraph {
+    private static final int MAX_BYTES = Integer.MAX_VALUE - 8;
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final boolean uniformWeights;
+    private final boolean signedWeights;
+    private final int weight;
+    private final int[] outOffsets;
+    private final byte[] outData;
+    private final int[] inOffsets;
+    private final byte[] inData;
+
+    private CompressedGraph(Digraph graph) {
+        nodeCount = graph.getVertexCount();
+        edgeCount = graph.getEdgeCount();
+
+        int[] range = {Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int u = 0; u < nodeCount; u++) {
+            graph.forEachOut(u, (from, to, w) -> {
+                range[0] = Math.min(range[0], w);
+                range[1] = Math.max(range[1], w);
+            });
+        }
+        uniformWeights = edgeCount == 0 || range[0] == range[1];
+        signedWeights = range[0] < 0;
+        weight = edgeCount == 0 ? 0 : range[0];
+
+        Encoder out = new Encoder(nodeCount, edgeCount);
+        for (int u = 0; u < nodeCount; u++) {
+            graph.forEachOut(u, (from, to, w) -> out.add(to, w));
+            out.finish(u);
+        }
+        outOffsets = out.offsets;
+        outData = out.toBytes();
+
+        Encoder in = new Encoder(nodeCount, edgeCount);
+        for (int v = 0; v < nodeCount; v++) {
+            graph.forEachIn(v, (from, to, w) -> in.add(from, w));
+            in.finish(v);
+        }
+        inOffsets = in.offsets;
+        inData = in.toBytes();
+    }
+
+    /**
+     * Builds a compressed copy of any graph; the source is only read.
+     * @param graph graph to compress
+     * @return a compressed graph with the same edges
+     */
+    public static CompressedGraph of(Digraph graph) {
+        return new CompressedGraph(graph);
+    }
+
+    @Override
+    public int getVertexCount() { return nodeCount; }
+
+    @Override
+    public int getEdgeCount() { return edgeCount; }
+
+    @Override
+    public int getOutDegree(int u) { return degree(outData, outOffsets[u]); }
+
+    @Override
+    public int getInDegree(int v) { return degree(inData, inOffsets[v]); }
+
+    @Override
+    public void forEachOut(int u, EdgeConsumer action) {
+        decode(outData, outOffsets[u], u, false, action);
+    }
+
+    @Override
+    public void forEachIn(int v, EdgeConsumer action) {
+        decode(inData, inOffsets[v], v, true, action);
+    }
+
+    /** Decodes one byte run, passing (vertex, neighbor) or (neighbor, vertex) edges to the action */
+    private void decode(byte[] data, int pos, int vertex, boolean incoming, EdgeConsumer action) {
+        int degree = 0;
+        for (int shift = 0, b; ; shift += 7) {
+            b = data[pos++];
+            degree |= (b & 0x7F) << shift;
+            if (b >= 0) break;
+        }
+        int neighbor = vertex;
+        for (int i = 0; i < degree; i++) {
+            int gap = 0;
+            for (int shift = 0, b; ; shift += 7) {
+                b = data[pos++];
+                gap |= (b & 0x7F) << shift;
+                if (b >= 0) break;
+            }
+            neighbor += i == 0 ? (gap >>> 1) ^ -(gap & 1) : gap;
+            int w = weight;
+            if (!uniformWeights) {
+                w = 0;
+                for (int shift = 0, b; ; shift += 7) {
+                    b = data[pos++];
+                    w |= (b & 0x7F) << shift;
+                    if (b >= 0) break;
+                }
+                if (signedWeights) w = (w >>> 1) ^ -(w & 1);
+            }
+            if (incoming) {
+                action.accept(neighbor, vertex, w);
+            } else {
+                action.accept(vertex, neighbor, w);
+            }
+        }
+    }
+
+    /** return bytes held by adjacency data and offsets, for comparison with uncompressed storage */
+    public long getByteSize() {
+        return outData.length + inData.length + 4L * (outOffsets.length + inOffsets.length);
+    }
+
+    private static int degree(byte[] data, int pos) {
+        int value = 0;
+        for (int shift = 0, b; ; shift += 7) {
+            b = data[pos++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+    }
+
+    /** Collects one vertex's edges at a time, sorts them by neighbor and appends their encoding */
+    private final class Encoder {
+        final int[] offsets;
+        private byte[] data;
+        private int size;
+        private long[] pending = new long[16];
+        private int[] pendingWeights = new int[16];
+        private int pendingCount;
+
+        Encoder(int nodeCount, int edgeCount) {
+            offsets = new int[nodeCount + 1];
+            data = new byte[(int) Math.min(MAX_BYTES, Math.max(16, nodeCount + 2L * edgeCount))];
+        }
+
+        void add(int neighbor, int w) {
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, pendingCount * 2);
+                pendingWeights = Arrays.copyOf(pendingWeights, pendingCount * 2);
+            }
+            // Neighbor in the high half and arrival index in the low half keep the sort stable
+            pending[pendingCount] = ((long) neighbor << 32) | pendingCount;
+            pendingWeights[pendingCount++] = w;
+        }
+
+        void finish(int vertex) {
+            offsets[vertex] = size;
+            Arrays.sort(pending, 0, pendingCount);
+            writeVarint(pendingCount);
+            int previous = vertex;
+            for (int i = 0; i < pendingCount; i++) {
+                int neighbor = (int) (pending[i] >>> 32);
+                int gap = neighbor - previous;
+                writeVarint(i == 0 ? (gap << 1) ^ (gap >> 31) : gap);
+                previous = neighbor;
+                if (!uniformWeights) {
+                    int w = pendingWeights[(int) pending[i]];
+                    writeVarint(signedWeights ? (w << 1) ^ (w >> 31) : w);
+                }
+            }
+            pendingCount = 0;
+            offsets[vertex + 1] = size;
+        }
+
+        byte[] toBytes() {
+            return Arrays.copyOf(data, size);
+        }
+
+        private void writeVarint(int value) {
+            if (data.length - size < 5) {
+                int capacity = (int) Math.min(MAX_BYTES, data.length + data.length / 2L + 16);
+                if (capacity - size < 5) throw new IllegalArgumentException("compressed adjacency exceeds 2 GB");
+                data = Arrays.copyOf(data, capacity);
+            }
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package graph.models;
+
+/**
+ * Read-only traversal surface of a directed weighted graph over int vertex IDs.
+ * Graph algorithms depend on this interface rather than on a concrete storage layout.
+ */
+public interface Digraph {
+
+    int getVertexCount();
+
+    int getEdgeCount();
+
+    int getOutDegree(int u);
+
+    int getInDegree(int v);
+
+    /**
+     * Calls the action once for every outgoing edge of u, in adjacency order.
+     * @param u      source vertex ID
+     * @param action edge callback receiving (u, target, weight)
+     */
+    void forEachOut(int u, EdgeConsumer action);
+
+    /**
+     * Calls the action once for every incoming edge of v, in adjacency order.
+     * @param v      destination vertex ID
+     * @param action edge callback receiving (source, v, weight)
+     */
+    void forEachIn(int v, EdgeConsumer action);
+}
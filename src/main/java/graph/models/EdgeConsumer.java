@@ -0,0 +1,15 @@
+package graph.models;
+
+/**
+ * Callback receiving one directed weighted edge as primitive values.
+ * Used by Digraph traversal methods so that neighbor walks allocate nothing.
+ */
+@FunctionalInterface
+public interface EdgeConsumer {
+    /**
+     * @param from   source vertex ID
+     * @param to     destination vertex ID
+     * @param weight edge weight
+     */
+    void accept(int from, int to, int weight);
+}
@@ -3,27 +3,177 @@ package graph.models;
 import java.util.*;
 
 /**
- * Represents a directed weighted graph using adjacency lists.
- * Stores both outgoing and incoming edge lists for each vertex.
+ * Represents a directed weighted graph in compressed sparse row (CSR) form.
+ * Edges are appended to a primitive edge buffer and compacted on first traversal
+ * into forward (offsets / targets / weights) and reverse (offsets / sources / weights)
+ * int arrays, so each edge costs a few ints instead of an Edge object and list slots.
+ * Adjacency order within a vertex follows insertion order.
  */
-public class Graph {
+public class Graph implements Digraph {
+    private static final int INITIAL_EDGE_CAPACITY = 16;
+
     private final int nodeCount;
-    private final Map<Vertex, List<Edge>> outgoing;
-    private final Map<Vertex, List<Edge>> incoming;
+    private int edgeCount;
+    private volatile long version;
+
+    // Insertion buffer, null while the graph is compacted
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private int[] edgeWeight;
+
+    // CSR arrays, null while edges are pending in the buffer
+    private volatile int[] outOffsets;
+    private int[] outTargets;
+    private int[] outWeights;
+    private int[] inOffsets;
+    private int[] inSources;
+    private int[] inWeights;
+
+    // Shared Vertex instances, created on first request
+    private Vertex[] vertices;
+    private List<Vertex> nodes;
 
     /**
      * Creates an empty directed graph with the specified number of vertices.
      * @param nodeCount number of vertices in the graph
      */
     public Graph(int nodeCount) {
+        this(nodeCount, INITIAL_EDGE_CAPACITY);
+    }
+
+    /**
+     * Creates an empty directed graph with room for the given number of edges,
+     * avoiding buffer growth when the edge count is known up front.
+     * @param nodeCount    number of vertices in the graph
+     * @param edgeCapacity expected number of edges
+     */
+    public Graph(int nodeCount, int edgeCapacity) {
+        if (nodeCount < 0) throw new IllegalArgumentException("nodeCount < 0: " + nodeCount);
         this.nodeCount = nodeCount;
-        this.outgoing = new HashMap<>();
-        this.incoming = new HashMap<>();
-        for (int i = 0; i < nodeCount; i++) {
-            Vertex node = new Vertex(i);
-            outgoing.put(node, new ArrayList<>());
-            incoming.put(node, new ArrayList<>());
+        int capacity = Math.max(edgeCapacity, 1);
+        this.edgeFrom = new int[capacity];
+        this.edgeTo = new int[capacity];
+        this.edgeWeight = new int[capacity];
+    }
+
+    /**
+     * Creates a graph directly from forward CSR arrays, which are taken over without
+     * copying; the reverse arrays are derived from them. Out-edges of u must occupy
+     * [offsets[u], offsets[u + 1]) of targets and weights.
+     *
+     * @param nodeCount number of vertices in the graph
+     * @param offsets   forward offsets, length nodeCount + 1
+     * @param targets   edge targets
+     * @param weights   edge weights
+     * @return a compacted graph backed by the given arrays
+     */
+    public static Graph fromCsr(int nodeCount, int[] offsets, int[] targets, int[] weights) {
+        if (offsets.length != nodeCount + 1 || offsets[0] != 0) {
+            throw new IllegalArgumentException("offsets must have length n + 1 and start at 0");
+        }
+        int m = offsets[nodeCount];
+        if (targets.length < m || weights.length < m) {
+            throw new IllegalArgumentException("targets/weights shorter than offsets[n] = " + m);
+        }
+
+        Graph g = new Graph(nodeCount, 1);
+        g.edgeFrom = null;
+        g.edgeTo = null;
+        g.edgeWeight = null;
+        g.edgeCount = m;
+        g.outTargets = targets;
+        g.outWeights = weights;
+
+        int[] revOff = new int[nodeCount + 1];
+        for (int i = 0; i < m; i++) {
+            int v = targets[i];
+            Objects.checkIndex(v, nodeCount);
+            revOff[v + 1]++;
         }
+        for (int i = 0; i < nodeCount; i++) revOff[i + 1] += revOff[i];
+        int[] revPos = Arrays.copyOf(revOff, nodeCount);
+        int[] sources = new int[m];
+        int[] revWeights = new int[m];
+        for (int u = 0; u < nodeCount; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int r = revPos[targets[i]]++;
+                sources[r] = u;
+                revWeights[r] = weights[i];
+            }
+        }
+        g.inOffsets = revOff;
+        g.inSources = sources;
+        g.inWeights = revWeights;
+        g.outOffsets = offsets;
+        return g;
+    }
+
+    /**
+     * Creates a graph directly from forward and reverse CSR arrays, all taken over without
+     * copying. The reverse arrays must describe the same edges as the forward ones;
+     * only their lengths are checked.
+     *
+     * @param nodeCount number of vertices in the graph
+     * @param offsets   forward offsets, length nodeCount + 1
+     * @param targets   edge targets
+     * @param weights   edge weights
+     * @param inOffsets reverse offsets, length nodeCount + 1
+     * @param sources   edge sources grouped by target
+     * @param inWeights edge weights grouped by target
+     * @return a compacted graph backed by the given arrays
+     */
+    public static Graph fromCsr(int nodeCount, int[] offsets, int[] targets, int[] weights,
+                                int[] inOffsets, int[] sources, int[] inWeights) {
+        if (offsets.length != nodeCount + 1 || inOffsets.length != nodeCount + 1
+                || offsets[0] != 0 || inOffsets[0] != 0 || offsets[nodeCount] != inOffsets[nodeCount]) {
+            throw new IllegalArgumentException("offsets must have length n + 1, start at 0 and agree on m");
+        }
+        int m = offsets[nodeCount];
+        if (targets.length < m || weights.length < m || sources.length < m || inWeights.length < m) {
+            throw new IllegalArgumentException("edge arrays shorter than offsets[n] = " + m);
+        }
+
+        Graph g = new Graph(nodeCount, 1);
+        g.edgeFrom = null;
+        g.edgeTo = null;
+        g.edgeWeight = null;
+        g.edgeCount = m;
+        g.outTargets = targets;
+        g.outWeights = weights;
+        g.inOffsets = inOffsets;
+        g.inSources = sources;
+        g.inWeights = inWeights;
+        g.outOffsets = offsets;
+        return g;
+    }
+
+    /**
+     * Creates a graph over an edge list, taking the arrays over as its edge buffer
+     * without copying; they are compacted into CSR form on first traversal.
+     * Arrays may be longer than edgeCount; later addEdge calls may write past it.
+     *
+     * @param nodeCount number of vertices in the graph
+     * @param from      edge sources
+     * @param to        edge targets
+     * @param weights   edge weights
+     * @param edgeCount number of edges held in the arrays
+     * @return a graph backed by the given arrays
+     */
+    public static Graph fromEdges(int nodeCount, int[] from, int[] to, int[] weights, int edgeCount) {
+        if (edgeCount < 0 || from.length < edgeCount || to.length < edgeCount || weights.length < edgeCount) {
+            throw new IllegalArgumentException("edge arrays shorter than edgeCount = " + edgeCount);
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            Objects.checkIndex(from[e], nodeCount);
+            Objects.checkIndex(to[e], nodeCount);
+        }
+        Graph g = new Graph(nodeCount, 1);
+        int capacity = Math.min(from.length, Math.min(to.length, weights.length));
+        g.edgeFrom = capacity == from.length ? from : Arrays.copyOf(from, capacity);
+        g.edgeTo = capacity == to.length ? to : Arrays.copyOf(to, capacity);
+        g.edgeWeight = capacity == weights.length ? weights : Arrays.copyOf(weights, capacity);
+        g.edgeCount = edgeCount;
+        return g;
     }
 
     /**
@@ -33,23 +183,215 @@ public class Graph {
      * @param weight edge weight
      */
     public void addEdge(Vertex from, Vertex to, int weight) {
-        Edge edge = new Edge(from, to, weight);
-        outgoing.get(from).add(edge);
-        incoming.get(to).add(edge);
+        addEdge(from.getId(), to.getId(), weight);
     }
 
+    /**
+     * Adds a directed edge between two vertex IDs with a given weight.
+     * @param from   source vertex ID
+     * @param to     destination vertex ID
+     * @param weight edge weight
+     */
+    public synchronized void addEdge(int from, int to, int weight) {
+        Objects.checkIndex(from, nodeCount);
+        Objects.checkIndex(to, nodeCount);
+        if (edgeFrom == null) expand();
+        if (edgeCount == edgeFrom.length) {
+            int capacity = Math.max(edgeCount * 2, INITIAL_EDGE_CAPACITY);
+            edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+            edgeTo = Arrays.copyOf(edgeTo, capacity);
+            edgeWeight = Arrays.copyOf(edgeWeight, capacity);
+        }
+        edgeFrom[edgeCount] = from;
+        edgeTo[edgeCount] = to;
+        edgeWeight[edgeCount] = weight;
+        edgeCount++;
+        outOffsets = null;
+        version++;
+    }
+
+    /**
+     * Returns the outgoing edges of a vertex as Edge objects.
+     * Intended for inspection; traversal code should use the CSR arrays.
+     */
     public List<Edge> getOutgoing(Vertex node) {
-        return Collections.unmodifiableList(outgoing.get(node));
+        int[] offsets = getOutOffsets();
+        int u = node.getId();
+        List<Edge> edges = new ArrayList<>(offsets[u + 1] - offsets[u]);
+        for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+            edges.add(new Edge(node, getVertex(outTargets[i]), outWeights[i]));
+        }
+        return Collections.unmodifiableList(edges);
     }
 
+    /**
+     * Returns the incoming edges of a vertex as Edge objects.
+     * Intended for inspection; traversal code should use the CSR arrays.
+     */
     public List<Edge> getIncoming(Vertex node) {
-        return Collections.unmodifiableList(incoming.get(node));
+        int[] offsets = getInOffsets();
+        int v = node.getId();
+        List<Edge> edges = new ArrayList<>(offsets[v + 1] - offsets[v]);
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+            edges.add(new Edge(getVertex(inSources[i]), node, inWeights[i]));
+        }
+        return Collections.unmodifiableList(edges);
     }
 
     public Collection<Vertex> getNodes() {
-        return Collections.unmodifiableSet(outgoing.keySet());
+        if (nodes == null) {
+            Vertex[] all = new Vertex[nodeCount];
+            for (int i = 0; i < nodeCount; i++) all[i] = getVertex(i);
+            nodes = Collections.unmodifiableList(Arrays.asList(all));
+        }
+        return nodes;
     }
 
+    @Override
     public int getVertexCount() { return nodeCount; }
-    public Vertex getVertex(int id) { return new Vertex(id); }
+
+    @Override
+    public int getEdgeCount() { return edgeCount; }
+
+    /** return modification counter, incremented by every addEdge call */
+    public long getVersion() { return version; }
+
+    /**
+     * Returns the shared Vertex instance for an ID; repeated calls do not allocate.
+     */
+    public Vertex getVertex(int id) {
+        Objects.checkIndex(id, nodeCount);
+        if (vertices == null) vertices = new Vertex[nodeCount];
+        Vertex v = vertices[id];
+        if (v == null) {
+            v = new Vertex(id);
+            vertices[id] = v;
+        }
+        return v;
+    }
+
+    @Override
+    public int getOutDegree(int u) {
+        int[] offsets = getOutOffsets();
+        return offsets[u + 1] - offsets[u];
+    }
+
+    @Override
+    public int getInDegree(int v) {
+        int[] offsets = getInOffsets();
+        return offsets[v + 1] - offsets[v];
+    }
+
+    @Override
+    public void forEachOut(int u, EdgeConsumer action) {
+        int[] offsets = getOutOffsets();
+        int[] targets = outTargets;
+        int[] weights = outWeights;
+        for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+            action.accept(u, targets[i], weights[i]);
+        }
+    }
+
+    @Override
+    public void forEachIn(int v, EdgeConsumer action) {
+        int[] offsets = getInOffsets();
+        int[] sources = inSources;
+        int[] weights = inWeights;
+        for (int i = offsets[v], end = offsets[v + 1]; i < end; i++) {
+            action.accept(sources[i], v, weights[i]);
+        }
+    }
+
+    /** return forward offsets: out-edges of u occupy [offsets[u], offsets[u + 1]) */
+    public int[] getOutOffsets() {
+        int[] offsets = outOffsets;
+        if (offsets == null) {
+            compact();
+            offsets = outOffsets;
+        }
+        return offsets;
+    }
+
+    /** return forward edge targets, indexed by the forward offsets */
+    public int[] getOutTargets() { getOutOffsets(); return outTargets; }
+
+    /** return forward edge weights, indexed by the forward offsets */
+    public int[] getOutWeights() { getOutOffsets(); return outWeights; }
+
+    /** return reverse offsets: in-edges of v occupy [offsets[v], offsets[v + 1]) */
+    public int[] getInOffsets() { getOutOffsets(); return inOffsets; }
+
+    /** return reverse edge sources, indexed by the reverse offsets */
+    public int[] getInSources() { getOutOffsets(); return inSources; }
+
+    /** return reverse edge weights, indexed by the reverse offsets */
+    public int[] getInWeights() { getOutOffsets(); return inWeights; }
+
+    /**
+     * Builds the forward and reverse CSR arrays from the edge buffer with a
+     * stable counting sort, then releases the buffer.
+     */
+    private synchronized void compact() {
+        if (outOffsets != null) return;
+
+        int n = nodeCount;
+        int m = edgeCount;
+        int[] fwdOff = new int[n + 1];
+        int[] revOff = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            fwdOff[edgeFrom[e] + 1]++;
+            revOff[edgeTo[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            fwdOff[i + 1] += fwdOff[i];
+            revOff[i + 1] += revOff[i];
+        }
+
+        int[] fwdPos = Arrays.copyOf(fwdOff, n);
+        int[] revPos = Arrays.copyOf(revOff, n);
+        int[] targets = new int[m];
+        int[] fwdWeights = new int[m];
+        int[] sources = new int[m];
+        int[] revWeights = new int[m];
+        for (int e = 0; e < m; e++) {
+            int u = edgeFrom[e];
+            int v = edgeTo[e];
+            int w = edgeWeight[e];
+            int f = fwdPos[u]++;
+            targets[f] = v;
+            fwdWeights[f] = w;
+            int r = revPos[v]++;
+            sources[r] = u;
+            revWeights[r] = w;
+        }
+
+        outTargets = targets;
+        outWeights = fwdWeights;
+        inOffsets = revOff;
+        inSources = sources;
+        inWeights = revWeights;
+        outOffsets = fwdOff;
+        edgeFrom = null;
+        edgeTo = null;
+        edgeWeight = null;
+    }
+
+    /**
+     * Restores the edge buffer from the forward CSR arrays so that more edges
+     * can be appended after the graph was compacted.
+     */
+    private void expand() {
+        int capacity = Math.max(edgeCount + edgeCount / 2, INITIAL_EDGE_CAPACITY);
+        edgeFrom = new int[capacity];
+        edgeTo = Arrays.copyOf(outTargets, capacity);
+        edgeWeight = Arrays.copyOf(outWeights, capacity);
+        for (int u = 0; u < nodeCount; u++) {
+            Arrays.fill(edgeFrom, outOffsets[u], outOffsets[u + 1], u);
+        }
+        inOffsets = null;
+        inSources = null;
+        inWeights = null;
+        outTargets = null;
+        outWeights = null;
+    }
 }
@@ -0,0 +1,149 @@
+package graph.models;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Directed weighted graph whose CSR arrays live in native memory segments instead of
+ * the Java heap. The layout is the same as the compacted {@link Graph}: forward
+ * offsets / targets / weights and reverse offsets / sources / weights, all 32-bit
+ * little-endian ints, so a graph snapshot file can be mapped and traversed in place.
+ * The graph is read-only; its memory belongs to the arena that allocated or mapped
+ * the segments and becomes inaccessible once that arena is closed. Segments of a
+ * confined arena may only be traversed by the owning thread, so parallel algorithms
+ * need a shared, global or automatic arena.
+ */
+public final class OffHeapGraph implements Digraph {
+    /** Element layout of every segment: 4-byte aligned little-endian int */
+    public static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final MemorySegment outOffsets;
+    private final MemorySegment outTargets;
+    private final MemorySegment outWeights;
+    private final MemorySegment inOffsets;
+    private final MemorySegment inSources;
+    private final MemorySegment inWeights;
+
+    private OffHeapGraph(int nodeCount, int edgeCount, MemorySegment outOffsets, MemorySegment outTargets,
+                         MemorySegment outWeights, MemorySegment inOffsets, MemorySegment inSources,
+                         MemorySegment inWeights) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outWeights = outWeights;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inWeights = inWeights;
+    }
+
+    /**
+     * Copies the CSR arrays of a heap graph into segments allocated from the arena.
+     *
+     * @param graph graph to copy; compacted if edges are pending
+     * @param arena arena that owns the new segments
+     * @return an off-heap graph with the same adjacency order as the source
+     */
+    public static OffHeapGraph copyOf(Graph graph, Arena arena) {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        return new OffHeapGraph(n, m,
+                copy(graph.getOutOffsets(), n + 1, arena),
+                copy(graph.getOutTargets(), m, arena),
+                copy(graph.getOutWeights(), m, arena),
+                copy(graph.getInOffsets(), n + 1, arena),
+                copy(graph.getInSources(), m, arena),
+                copy(graph.getInWeights(), m, arena));
+    }
+
+    /**
+     * Wraps existing segments, e.g. slices of a mapped file, without copying.
+     * The reverse segments must describe the same edges as the forward ones;
+     * only the offsets' end points and the segment sizes are checked.
+     *
+     * @param nodeCount  number of vertices in the graph
+     * @param outOffsets forward offsets, nodeCount + 1 ints
+     * @param outTargets edge targets, at least m ints
+     * @param outWeights edge weights, at least m ints
+     * @param inOffsets  reverse offsets, nodeCount + 1 ints
+     * @param inSources  edge sources grouped by target, at least m ints
+     * @param inWeights  edge weights grouped by target, at least m ints
+     * @return an off-heap graph backed by the given segments
+     */
+    public static OffHeapGraph fromSegments(int nodeCount, MemorySegment outOffsets, MemorySegment outTargets,
+                                            MemorySegment outWeights, MemorySegment inOffsets,
+                                            MemorySegment inSources, MemorySegment inWeights) {
+        if (nodeCount < 0) throw new IllegalArgumentException("nodeCount < 0: " + nodeCount);
+        long offsetBytes = 4L * (nodeCount + 1);
+        if (outOffsets.byteSize() < offsetBytes || inOffsets.byteSize() < offsetBytes
+                || outOffsets.getAtIndex(INT, 0) != 0 || inOffsets.getAtIndex(INT, 0) != 0) {
+            throw new IllegalArgumentException("offsets must hold n + 1 ints and start at 0");
+        }
+        int m = outOffsets.getAtIndex(INT, nodeCount);
+        long edgeBytes = 4L * m;
+        if (m < 0 || inOffsets.getAtIndex(INT, nodeCount) != m
+                || outTargets.byteSize() < edgeBytes || outWeights.byteSize() < edgeBytes
+                || inSources.byteSize() < edgeBytes || inWeights.byteSize() < edgeBytes) {
+            throw new IllegalArgumentException("edge segments do not match offsets[n] = " + m);
+        }
+        return new OffHeapGraph(nodeCount, m, outOffsets, outTargets, outWeights, inOffsets, inSources, inWeights);
+    }
+
+    private static MemorySegment copy(int[] values, int count, Arena arena) {
+        MemorySegment segment = arena.allocate(4L * count, 4);
+        MemorySegment.copy(values, 0, segment, INT, 0, count);
+        return segment;
+    }
+
+    @Override
+    public int getVertexCount() { return nodeCount; }
+
+    @Override
+    public int getEdgeCount() { return edgeCount; }
+
+    @Override
+    public int getOutDegree(int u) {
+        return outOffsets.getAtIndex(INT, u + 1) - outOffsets.getAtIndex(INT, u);
+    }
+
+    @Override
+    public int getInDegree(int v) {
+        return inOffsets.getAtIndex(INT, v + 1) - inOffsets.getAtIndex(INT, v);
+    }
+
+    @Override
+    public void forEachOut(int u, EdgeConsumer action) {
+        long end = outOffsets.getAtIndex(INT, u + 1);
+        for (long i = outOffsets.getAtIndex(INT, u); i < end; i++) {
+            action.accept(u, outTargets.getAtIndex(INT, i), outWeights.getAtIndex(INT, i));
+        }
+    }
+
+    @Override
+    public void forEachIn(int v, EdgeConsumer action) {
+        long end = inOffsets.getAtIndex(INT, v + 1);
+        for (long i = inOffsets.getAtIndex(INT, v); i < end; i++) {
+            action.accept(inSources.getAtIndex(INT, i), v, inWeights.getAtIndex(INT, i));
+        }
+    }
+
+    /**
+     * Copies the graph back onto the heap, e.g. to hand it to code that needs a
+     * mutable {@link Graph}.
+     */
+    public Graph toGraph() {
+        return Graph.fromCsr(nodeCount,
+                toArray(outOffsets, nodeCount + 1), toArray(outTargets, edgeCount), toArray(outWeights, edgeCount),
+                toArray(inOffsets, nodeCount + 1), toArray(inSources, edgeCount), toArray(inWeights, edgeCount));
+    }
+
+    private static int[] toArray(MemorySegment segment, int count) {
+        int[] values = new int[count];
+        MemorySegment.copy(segment, INT, 0, values, 0, count);
+        return values;
+    }
+}
@@ -1,17 +1,23 @@
 package graph.scc;
 
-import graph.models.Edge;
 import graph.models.Graph;
-import graph.models.Vertex;
+import graph.utils.Metrics;
+import graph.utils.ParallelLoops;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Builds a condensation graph (DAG) from the strongly connected components (SCCs)
  * of a directed graph. Each SCC is collapsed into a single vertex, and edges between
  * different components are preserved.
+ * Cross-component edges are bucketed by source component in parallel and deduplicated
+ * per bucket by sorting packed (target, position) keys, so no per-edge objects are created.
+ * When several original edges connect the same pair of components, the super-edge takes
+ * the weight of the first one in vertex order.
  */
 public class CondensationBuilder {
+    private static final int GRAIN = 1 << 12;
 
     /**
      * Builds the condensation DAG from the given graph and its SCCs.
@@ -21,30 +27,142 @@ public class CondensationBuilder {
      * @return a DAG where each node represents an SCC of the original graph
      */
     public static CondensationResult build(Graph graph, List<List<Integer>> sccs) {
+        return build(graph, sccs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds the condensation DAG using the given pool for the per-vertex and
+     * per-component passes.
+     */
+    public static CondensationResult build(Graph graph, List<List<Integer>> sccs, ForkJoinPool pool) {
+        return build(graph, sccs, pool, null);
+    }
+
+    /**
+     * Runs SCCTarjan and builds the condensation with super IDs numbered in topological
+     * order. Tarjan emits components in reverse topological order of the condensation,
+     * so reversing its output makes 0, 1, ..., k-1 a valid order and no separate
+     * topological sort of the DAG is needed.
+     *
+     * @param graph   the original directed graph
+     * @param metrics performance metrics recorder for the SCC pass
+     * @return condensation whose getTopologicalOrder() is 0..k-1
+     */
+    public static CondensationResult buildTopological(Graph graph, Metrics metrics) {
+        List<List<Integer>> sccs = new SCCTarjan().findSCCs(graph, metrics);
+        Collections.reverse(sccs);
+        int k = sccs.size();
+        List<Integer> order = new AbstractList<>() {
+            @Override public Integer get(int i) { return Objects.checkIndex(i, k); }
+            @Override public int size() { return k; }
+        };
+        return build(graph, sccs, ForkJoinPool.commonPool(), order);
+    }
+
+    private static CondensationResult build(Graph graph, List<List<Integer>> sccs, ForkJoinPool pool,
+                                            List<Integer> topologicalOrder) {
+        int n = graph.getVertexCount();
         int superN = sccs.size();
-        Map<Integer, Integer> nodeToSuper = new HashMap<>();
-        List<List<Integer>> superToOriginal = new ArrayList<>();
 
+        int[] componentOf = new int[n];
+        Arrays.fill(componentOf, -1);
+        int[] memberOffsets = new int[superN + 1];
         for (int superId = 0; superId < superN; superId++) {
-            List<Integer> comp = sccs.get(superId);
-            superToOriginal.add(List.copyOf(comp));
+            memberOffsets[superId + 1] = memberOffsets[superId] + sccs.get(superId).size();
+        }
+        int[] members = new int[memberOffsets[superN]];
+        for (int superId = 0, i = 0; superId < superN; superId++) {
             for (int nodeId : sccs.get(superId)) {
-                nodeToSuper.put(nodeId, superId);
+                members[i++] = nodeId;
+                componentOf[nodeId] = superId;
             }
         }
-        Graph dag = new Graph(superN);
-        Set<String> used = new HashSet<>();
-
-        for (Vertex u : graph.getNodes()) {
-            int su = nodeToSuper.get(u.getId());
-            for (Edge e : graph.getOutgoing(u)) {
-                int sv = nodeToSuper.get(e.getTo().getId());
-                if (su != sv && used.add(su + "->" + sv)) {
-                    dag.addEdge(dag.getVertex(su), dag.getVertex(sv),  e.getWeight());
-                }
+
+        for (int u = 0; u < n; u++) {
+            if (componentOf[u] == -1) throw new IllegalArgumentException("vertex " + u + " is in no SCC");
+        }
+
+        int[] offsets = graph.getOutOffsets();
+        int[] targets = graph.getOutTargets();
+        int[] weights = graph.getOutWeights();
+
+        // Count cross-component edges per vertex
+        int[] crossCount = new int[n];
+        ParallelLoops.forRange(pool, 0, n, GRAIN, u -> {
+            int su = componentOf[u];
+            int count = 0;
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                if (componentOf[targets[i]] != su) count++;
             }
+            crossCount[u] = count;
+        });
+
+        // Bucket layout by source component; vertices fill their bucket in ascending order
+        int[] bucketStart = new int[superN + 1];
+        for (int u = 0; u < n; u++) bucketStart[componentOf[u] + 1] += crossCount[u];
+        for (int c = 0; c < superN; c++) bucketStart[c + 1] += bucketStart[c];
+        int[] writeAt = new int[n];
+        int[] cursor = Arrays.copyOf(bucketStart, superN);
+        for (int u = 0; u < n; u++) {
+            int su = componentOf[u];
+            writeAt[u] = cursor[su];
+            cursor[su] += crossCount[u];
         }
 
-        return new CondensationResult(dag, nodeToSuper,superToOriginal);
+        int crossEdges = bucketStart[superN];
+        int[] bucketTarget = new int[crossEdges];
+        int[] bucketWeight = new int[crossEdges];
+        ParallelLoops.forRange(pool, 0, n, GRAIN, u -> {
+            int su = componentOf[u];
+            int pos = writeAt[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int sv = componentOf[targets[i]];
+                if (sv != su) {
+                    bucketTarget[pos] = sv;
+                    bucketWeight[pos++] = weights[i];
+                }
+            }
+        });
+
+        // Keep the first occurrence of each target within every bucket
+        boolean[] keep = new boolean[crossEdges];
+        int[] keptCount = new int[superN];
+        ParallelLoops.forRange(pool, 0, superN, Math.max(1, GRAIN / 16), c -> {
+            int from = bucketStart[c];
+            int size = bucketStart[c + 1] - from;
+            if (size <= 1) {
+                if (size == 1) keep[from] = true;
+                keptCount[c] = size;
+                return;
+            }
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) keys[i] = ((long) bucketTarget[from + i] << 32) | i;
+            Arrays.sort(keys);
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || (keys[i] >>> 32) != (keys[i - 1] >>> 32)) {
+                    keep[from + (int) keys[i]] = true;
+                    kept++;
+                }
+            }
+            keptCount[c] = kept;
+        });
+
+        int[] dagOffsets = new int[superN + 1];
+        for (int c = 0; c < superN; c++) dagOffsets[c + 1] = dagOffsets[c] + keptCount[c];
+        int[] dagTargets = new int[dagOffsets[superN]];
+        int[] dagWeights = new int[dagOffsets[superN]];
+        ParallelLoops.forRange(pool, 0, superN, Math.max(1, GRAIN / 16), c -> {
+            int pos = dagOffsets[c];
+            for (int i = bucketStart[c]; i < bucketStart[c + 1]; i++) {
+                if (keep[i]) {
+                    dagTargets[pos] = bucketTarget[i];
+                    dagWeights[pos++] = bucketWeight[i];
+                }
+            }
+        });
+
+        Graph dag = Graph.fromCsr(superN, dagOffsets, dagTargets, dagWeights);
+        return new CondensationResult(dag, componentOf, memberOffsets, members, topologicalOrder);
     }
 }
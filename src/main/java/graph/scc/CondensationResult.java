@@ -1,26 +1,144 @@
 package graph.scc;
 
 import graph.models.Graph;
+import graph.topo.TopologicalSort;
+import graph.utils.Metrics;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
+/**
+ * Condensation DAG together with the mapping between original vertices and components.
+ * The mapping is stored in int arrays: componentOf[v] is the super ID of original vertex v
+ * (-1 if v belongs to no component), and the members of component c are
+ * members[memberOffsets[c] .. memberOffsets[c + 1]).
+ * A topological order of the DAG is kept when the producer already knows one,
+ * and computed with TopologicalSort on first request otherwise.
+ */
 public class CondensationResult {
     private final Graph dag;
-    private final Map<Integer, Integer> originalToSuper;
-    private final List<List<Integer>> superToOriginal;
+    private final int[] componentOf;
+    private final int[] memberOffsets;
+    private final int[] members;
+    private List<Integer> topologicalOrder;
+    private Map<Integer, Integer> mapping;
+
+    /**
+     * Creates a result from array mappings, which are taken over without copying.
+     * @param dag           condensation DAG, one vertex per component
+     * @param componentOf   super ID of every original vertex, or -1
+     * @param memberOffsets start of each component's members, length componentCount + 1
+     * @param members       original vertex IDs grouped by component
+     */
+    public CondensationResult(Graph dag, int[] componentOf, int[] memberOffsets, int[] members) {
+        this(dag, componentOf, memberOffsets, members, null);
+    }
+
+    /**
+     * Creates a result from array mappings and a known topological order of the DAG.
+     * @param topologicalOrder super IDs in topological order, or null if unknown
+     */
+    public CondensationResult(Graph dag, int[] componentOf, int[] memberOffsets, int[] members,
+                              List<Integer> topologicalOrder) {
+        this.dag = dag;
+        this.componentOf = componentOf;
+        this.memberOffsets = memberOffsets;
+        this.members = members;
+        this.topologicalOrder = topologicalOrder;
+    }
 
     public CondensationResult(Graph dag, Map<Integer, Integer> originalToSuper,List<List<Integer>> superToOriginal) {
         this.dag = dag;
-        this.originalToSuper = Collections.unmodifiableMap(originalToSuper);
-        this.superToOriginal = superToOriginal;
+        int maxId = -1;
+        for (int v : originalToSuper.keySet()) maxId = Math.max(maxId, v);
+        this.componentOf = new int[maxId + 1];
+        Arrays.fill(componentOf, -1);
+        originalToSuper.forEach((v, c) -> componentOf[v] = c);
+
+        this.memberOffsets = new int[superToOriginal.size() + 1];
+        for (int c = 0; c < superToOriginal.size(); c++) {
+            memberOffsets[c + 1] = memberOffsets[c] + superToOriginal.get(c).size();
+        }
+        this.members = new int[memberOffsets[superToOriginal.size()]];
+        for (int c = 0, i = 0; c < superToOriginal.size(); c++) {
+            for (int v : superToOriginal.get(c)) members[i++] = v;
+        }
+    }
+
+    /**
+     * Wraps an acyclic graph as its own condensation: every vertex is a singleton
+     * component with the same ID, and the DAG is the graph itself (not a copy).
+     * @param dag graph already known to be acyclic
+     */
+    public static CondensationResult identity(Graph dag) {
+        return identity(dag, null);
+    }
+
+    /**
+     * Identity condensation of an acyclic graph whose topological order is already known.
+     * @param dag              graph already known to be acyclic
+     * @param topologicalOrder vertex IDs in topological order, or null if unknown
+     */
+    public static CondensationResult identity(Graph dag, List<Integer> topologicalOrder) {
+        int n = dag.getVertexCount();
+        int[] ids = new int[n];
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            ids[v] = v;
+            offsets[v + 1] = v + 1;
+        }
+        return new CondensationResult(dag, ids, offsets, ids, topologicalOrder);
     }
 
     public Graph getDag() { return dag; }
-    public Map<Integer, Integer> getMapping() { return originalToSuper; }
-    public int getSuperId(int originalId) { return originalToSuper.getOrDefault(originalId, -1); }
+
+    /**
+     * Returns super IDs in topological order, computing it with Kahn's algorithm
+     * only if the producer of this result did not supply one.
+     */
+    public List<Integer> getTopologicalOrder() {
+        if (topologicalOrder == null) {
+            topologicalOrder = new TopologicalSort().sort(dag, new Metrics());
+        }
+        return topologicalOrder;
+    }
+
+    /** return number of components, i.e. vertices of the condensation DAG */
+    public int getComponentCount() { return memberOffsets.length - 1; }
+
+    /** return super ID of every original vertex (-1 if unmapped); do not modify */
+    public int[] getComponentOf() { return componentOf; }
+
+    /**
+     * Returns the original-to-super mapping as a boxed map.
+     * Built on first call; array accessors are preferable for large graphs.
+     */
+    public Map<Integer, Integer> getMapping() {
+        if (mapping == null) {
+            Map<Integer, Integer> map = new HashMap<>();
+            for (int v = 0; v < componentOf.length; v++) {
+                if (componentOf[v] != -1) map.put(v, componentOf[v]);
+            }
+            mapping = Collections.unmodifiableMap(map);
+        }
+        return mapping;
+    }
+
+    public int getSuperId(int originalId) {
+        return originalId >= 0 && originalId < componentOf.length ? componentOf[originalId] : -1;
+    }
+
+    /** return number of original vertices in a component */
+    public int getComponentSize(int superId) {
+        return memberOffsets[superId + 1] - memberOffsets[superId];
+    }
+
+    /** return original vertices of a component as an unmodifiable list view */
     public List<Integer> getOriginalVertices(int superId) {
-        return superToOriginal.get(superId);
+        int from = memberOffsets[superId];
+        int size = memberOffsets[superId + 1] - from;
+        return new AbstractList<>() {
+            @Override public Integer get(int i) { return members[from + Objects.checkIndex(i, size)]; }
+            @Override public int size() { return size; }
+        };
     }
 }
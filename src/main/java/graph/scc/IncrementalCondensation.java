@@ -0,0 +1,277 @@
+package graph.scc;
+
+import graph.models.Digraph;
+import graph.models.EdgeConsumer;
+import graph.models.Graph;
+import graph.topo.PearceKelly;
+import graph.utils.IntIntHashMap;
+import graph.utils.Metrics;
+
+import java.util.*;
+
+/**
+ * Condensation DAG that stays up to date while edges are added to the original graph.
+ * The components are kept in a topological order. An inserted edge that agrees with the
+ * order only adds a super-edge; otherwise the order is repaired by searching only the
+ * components positioned between its endpoints (Pearce-Kelly). If that search shows the
+ * edge closes a cycle, the components on the cycle are merged into one.
+ * Super IDs are slots 0..k-1 of the initial decomposition; a merge keeps one slot and
+ * leaves the others empty, so IDs of untouched components never change.
+ */
+public class IncrementalCondensation implements Digraph {
+    private final Graph graph;
+    private final int[] compOf;
+    private final int[][] members;
+    private final int[] memberCount;
+    private final IntIntHashMap[] out;
+    private final IntIntHashMap[] in;
+    private final int[] ord;
+    private final int[] compAt;
+    private int componentCount;
+    private int superEdgeCount;
+
+    private final PearceKelly pearceKelly;
+
+    /**
+     * Decomposes the graph with SCCTarjan and builds the initial condensation.
+     * Later edges must be added through {@link #addEdge(int, int, int)}.
+     *
+     * @param graph   the original directed graph
+     * @param metrics performance metrics recorder for the initial decomposition
+     */
+    public IncrementalCondensation(Graph graph, Metrics metrics) {
+        this.graph = graph;
+        int n = graph.getVertexCount();
+        List<List<Integer>> sccs = new SCCTarjan().findSCCs(graph, metrics);
+        int k = sccs.size();
+
+        compOf = new int[n];
+        members = new int[k][];
+        memberCount = new int[k];
+        out = new IntIntHashMap[k];
+        in = new IntIntHashMap[k];
+        ord = new int[k];
+        compAt = new int[k];
+        pearceKelly = new PearceKelly(out, in, ord, compAt);
+        componentCount = k;
+
+        for (int c = 0; c < k; c++) {
+            List<Integer> comp = sccs.get(c);
+            members[c] = new int[comp.size()];
+            for (int v : comp) {
+                members[c][memberCount[c]++] = v;
+                compOf[v] = c;
+            }
+            // Tarjan emits components in reverse topological order
+            ord[c] = k - 1 - c;
+            compAt[k - 1 - c] = c;
+        }
+
+        for (int u = 0; u < n; u++) {
+            graph.forEachOut(u, (from, to, weight) -> addSuperEdge(compOf[from], compOf[to], weight));
+        }
+    }
+
+    /**
+     * Adds an edge to the original graph and updates the condensation.
+     *
+     * @param from   source vertex ID
+     * @param to     destination vertex ID
+     * @param weight edge weight
+     * @return true if the edge closed a cycle and components were merged
+     */
+    public boolean addEdge(int from, int to, int weight) {
+        graph.addEdge(from, to, weight);
+        int su = compOf[from];
+        int sv = compOf[to];
+        if (su == sv || (out[su] != null && out[su].containsKey(sv))) return false;
+
+        if (ord[su] < ord[sv]) {
+            addSuperEdge(su, sv, weight);
+            return false;
+        }
+
+        // Order violated: explore the affected window [ord[sv], ord[su]]
+        pearceKelly.begin();
+        int lower = ord[sv];
+        int upper = ord[su];
+        int[] forward = pearceKelly.searchForward(sv, upper);
+        int[] backward = pearceKelly.searchBackward(su, lower);
+        boolean cycle = pearceKelly.reachedForward(su);
+
+        int merged = -1;
+        if (cycle) {
+            // Components on a cycle through the new edge: reachable from sv and reaching su
+            int[] cycleComps = Arrays.stream(forward).filter(pearceKelly::reachedBoth).toArray();
+            merged = merge(cycleComps);
+        } else {
+            addSuperEdge(su, sv, weight);
+        }
+        pearceKelly.reorder(backward, forward, merged);
+        return cycle;
+    }
+
+    /**
+     * Merges the given components into the one with the most members, moving the
+     * members and super-edges of the others into it.
+     */
+    private int merge(int[] comps) {
+        int survivor = comps[0];
+        for (int c : comps) if (memberCount[c] > memberCount[survivor]) survivor = c;
+
+        int target = survivor;
+
+        for (int c : comps) {
+            if (c == target) continue;
+            for (int i = 0; i < memberCount[c]; i++) {
+                int v = members[c][i];
+                compOf[v] = target;
+                appendMember(target, v);
+            }
+            members[c] = null;
+            memberCount[c] = 0;
+            componentCount--;
+        }
+
+        // Drop super-edges inside the cycle, then rewire outside ones to the survivor
+        for (int c : comps) {
+            if (out[c] != null) out[c].forEach((d, weight) -> {
+                if (pearceKelly.reachedBoth(d)) superEdgeCount--;
+            });
+        }
+        for (int c : comps) {
+            IntIntHashMap succ = out[c];
+            IntIntHashMap pred = in[c];
+            out[c] = null;
+            in[c] = null;
+            if (succ != null) succ.forEach((d, weight) -> {
+                if (pearceKelly.reachedBoth(d)) return;
+                in[d].remove(c);
+                superEdgeCount--;
+                addSuperEdge(target, d, weight);
+            });
+            if (pred != null) pred.forEach((p, weight) -> {
+                if (pearceKelly.reachedBoth(p)) return;
+                out[p].remove(c);
+                superEdgeCount--;
+                addSuperEdge(p, target, weight);
+            });
+        }
+        return target;
+    }
+
+    private void appendMember(int c, int v) {
+        if (memberCount[c] == members[c].length) {
+            members[c] = Arrays.copyOf(members[c], Math.max(4, memberCount[c] * 2));
+        }
+        members[c][memberCount[c]++] = v;
+    }
+
+    private void addSuperEdge(int su, int sv, int weight) {
+        if (su == sv) return;
+        if (out(su).putIfAbsent(sv, weight)) {
+            in(sv).putIfAbsent(su, weight);
+            superEdgeCount++;
+        }
+    }
+
+    private IntIntHashMap out(int c) {
+        if (out[c] == null) out[c] = new IntIntHashMap();
+        return out[c];
+    }
+
+    private IntIntHashMap in(int c) {
+        if (in[c] == null) in[c] = new IntIntHashMap();
+        return in[c];
+    }
+
+    /** return the super ID of an original vertex, or -1 if the ID is out of range */
+    public int getSuperId(int originalId) {
+        return originalId >= 0 && originalId < compOf.length ? compOf[originalId] : -1;
+    }
+
+    /** return original vertices of a component; empty for slots emptied by a merge */
+    public List<Integer> getOriginalVertices(int superId) {
+        List<Integer> result = new ArrayList<>(memberCount[superId]);
+        for (int i = 0; i < memberCount[superId]; i++) result.add(members[superId][i]);
+        return result;
+    }
+
+    /** return number of live components */
+    public int getComponentCount() { return componentCount; }
+
+    /** return true if the super ID still holds a component */
+    public boolean isLive(int superId) { return memberCount[superId] > 0; }
+
+    /**
+     * Returns the live components in a valid topological order of the condensation.
+     */
+    public List<Integer> getTopologicalOrder() {
+        List<Integer> order = new ArrayList<>(componentCount);
+        for (int c : compAt) if (c != -1) order.add(c);
+        return order;
+    }
+
+    /**
+     * Builds a dense CondensationResult of the current state, numbering live components
+     * in increasing super ID. The maintained topological order is passed along, so the
+     * result does not sort again. Costs O(V + E) and is meant for handing off to batch code.
+     */
+    public CondensationResult snapshot() {
+        int[] dense = new int[ord.length];
+        int[] memberOffsets = new int[componentCount + 1];
+        int[] allMembers = new int[compOf.length];
+        int next = 0;
+        for (int c = 0; c < ord.length; c++) {
+            dense[c] = next;
+            if (!isLive(c)) continue;
+            int from = memberOffsets[next];
+            System.arraycopy(members[c], 0, allMembers, from, memberCount[c]);
+            memberOffsets[++next] = from + memberCount[c];
+        }
+
+        int[] dagOffsets = new int[componentCount + 1];
+        int[] dagTargets = new int[superEdgeCount];
+        int[] dagWeights = new int[superEdgeCount];
+        int[] pos = {0};
+        for (int c = 0; c < ord.length; c++) {
+            if (!isLive(c)) continue;
+            if (out[c] != null) out[c].forEach((d, weight) -> {
+                dagTargets[pos[0]] = dense[d];
+                dagWeights[pos[0]++] = weight;
+            });
+            dagOffsets[dense[c] + 1] = pos[0];
+        }
+
+        int[] componentOf = new int[compOf.length];
+        for (int v = 0; v < compOf.length; v++) componentOf[v] = dense[compOf[v]];
+        List<Integer> order = new ArrayList<>(componentCount);
+        for (int c : compAt) if (c != -1) order.add(dense[c]);
+        Graph dag = Graph.fromCsr(componentCount, dagOffsets, dagTargets, dagWeights);
+        return new CondensationResult(dag, componentOf, memberOffsets, allMembers, order);
+    }
+
+    // Digraph view of the live condensation over super ID slots
+
+    @Override
+    public int getVertexCount() { return ord.length; }
+
+    @Override
+    public int getEdgeCount() { return superEdgeCount; }
+
+    @Override
+    public int getOutDegree(int u) { return out[u] == null ? 0 : out[u].size(); }
+
+    @Override
+    public int getInDegree(int v) { return in[v] == null ? 0 : in[v].size(); }
+
+    @Override
+    public void forEachOut(int u, EdgeConsumer action) {
+        if (out[u] != null) out[u].forEach((v, weight) -> action.accept(u, v, weight));
+    }
+
+    @Override
+    public void forEachIn(int v, EdgeConsumer action) {
+        if (in[v] != null) in[v].forEach((u, weight) -> action.accept(u, v, weight));
+    }
+}
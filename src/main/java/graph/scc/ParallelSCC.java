@@ -0,0 +1,331 @@
+package graph.scc;
+
+import graph.models.Digraph;
+import graph.models.Graph;
+import graph.utils.Metrics;
+import graph.utils.ParallelLoops;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds strongly connected components of large graphs on a ForkJoinPool.
+ * First, vertices whose in- or out-degree among the remaining vertices is zero are
+ * trimmed off level by level as size-1 components. The rest is split recursively with
+ * the forward-backward method: the SCC of a pivot is the intersection of its forward and
+ * backward reachable sets, and the three leftover parts are independent subproblems
+ * solved as parallel tasks. Graphs below the threshold, small subproblems, and parts left
+ * over by a split that found only a small SCC (long chains of small cycles would otherwise
+ * cost one reachability pass per component) are handled by SCCTarjan.
+ * Components are returned ordered by their smallest vertex, each sorted ascending.
+ */
+public class ParallelSCC {
+    /** Default vertex count below which the whole graph goes to SCCTarjan */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    private static final int PARTITION_CUTOFF = 1 << 12;
+    private static final int GRAIN = 1 << 11;
+    private static final int ASSIGNED = -1;
+    private static final int ROOT_LABEL = 1;
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelSCC() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param pool      pool that runs trimming and forward-backward tasks
+     * @param threshold graphs with fewer vertices are solved sequentially by SCCTarjan
+     */
+    public ParallelSCC(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Finds all SCCs in the given graph.
+     *
+     * @param graph   the input directed graph
+     * @param metrics performance metrics collector
+     * @return a list of SCCs, where each SCC is represented as a list of vertex IDs
+     */
+    public List<List<Integer>> findSCCs(Digraph graph, Metrics metrics) {
+        if (graph.getVertexCount() < threshold) {
+            // Tarjan emits reverse topological order; regroup to keep the ordering contract
+            List<List<Integer>> sccs = new SCCTarjan().findSCCs(graph, metrics);
+            int[] compOf = new int[graph.getVertexCount()];
+            for (int c = 0; c < sccs.size(); c++) {
+                for (int v : sccs.get(c)) compOf[v] = c;
+            }
+            return ordered(compOf, sccs.size());
+        }
+        metrics.startTimer();
+        Decomposition d = new Decomposition(graph);
+        d.trim();
+        int[] remaining = d.remaining();
+        if (remaining.length > 0) {
+            pool.invoke(d.new Split(remaining, ROOT_LABEL, true));
+        }
+        metrics.incrementDfsVisits(d.visits.sum());
+        metrics.incrementEdgeTraversals(d.edges.sum());
+        return d.components();
+    }
+
+    /**
+     * Groups vertices by component, listing components by their smallest vertex and the
+     * vertices of each in ascending order, with one pass over the vertices.
+     */
+    private static List<List<Integer>> ordered(int[] compOf, int count) {
+        int[] listOf = new int[count];
+        Arrays.fill(listOf, -1);
+        List<List<Integer>> sccs = new ArrayList<>(count);
+        for (int v = 0; v < compOf.length; v++) {
+            int c = compOf[v];
+            if (listOf[c] == -1) {
+                listOf[c] = sccs.size();
+                sccs.add(new ArrayList<>());
+            }
+            sccs.get(listOf[c]).add(v);
+        }
+        return sccs;
+    }
+
+    /**
+     * Per-call state. color[v] is the label of the subproblem owning v, or ASSIGNED once
+     * v has a component. Subproblems own disjoint vertex sets, so tasks never write the
+     * same slots concurrently.
+     */
+    private final class Decomposition {
+        final Digraph graph;
+        final int n;
+        final int[] color;
+        final int[] compOf;
+        final int[] fwMark;
+        final int[] bwMark;
+        final int[] localIndex;
+        final AtomicInteger nextLabel = new AtomicInteger(ROOT_LABEL + 1);
+        final AtomicInteger nextComp = new AtomicInteger();
+        final LongAdder visits = new LongAdder();
+        final LongAdder edges = new LongAdder();
+
+        Decomposition(Digraph graph) {
+            this.graph = graph;
+            this.n = graph.getVertexCount();
+            this.color = new int[n];
+            this.compOf = new int[n];
+            this.fwMark = new int[n];
+            this.bwMark = new int[n];
+            this.localIndex = new int[n];
+            Arrays.fill(color, ROOT_LABEL);
+        }
+
+        /**
+         * Repeatedly removes vertices with no remaining predecessors or successors,
+         * processing each frontier of newly exposed vertices in parallel.
+         */
+        void trim() {
+            int[] inDeg = new int[n];
+            int[] outDeg = new int[n];
+            int[] frontier = new int[n];
+            AtomicInteger size = new AtomicInteger();
+            ParallelLoops.forRange(pool, 0, n, GRAIN, v -> {
+                inDeg[v] = graph.getInDegree(v);
+                outDeg[v] = graph.getOutDegree(v);
+                if ((inDeg[v] == 0 || outDeg[v] == 0) && claim(v)) {
+                    frontier[size.getAndIncrement()] = v;
+                }
+            });
+
+            int[] current = frontier;
+            int[] next = new int[n];
+            while (size.get() > 0) {
+                int count = size.getAndSet(0);
+                int[] level = current;
+                int[] out = next;
+                ParallelLoops.forRange(pool, 0, count, GRAIN, i -> {
+                    int v = level[i];
+                    compOf[v] = nextComp.getAndIncrement();
+                    visits.increment();
+                    edges.add(graph.getOutDegree(v) + graph.getInDegree(v));
+                    graph.forEachOut(v, (u, w, weight) -> {
+                        if ((int) INTS.getAndAdd(inDeg, w, -1) == 1 && claim(w)) {
+                            out[size.getAndIncrement()] = w;
+                        }
+                    });
+                    graph.forEachIn(v, (w, u, weight) -> {
+                        if ((int) INTS.getAndAdd(outDeg, w, -1) == 1 && claim(w)) {
+                            out[size.getAndIncrement()] = w;
+                        }
+                    });
+                });
+                next = current;
+                current = out;
+            }
+        }
+
+        private boolean claim(int v) {
+            return INTS.compareAndSet(color, v, ROOT_LABEL, ASSIGNED);
+        }
+
+        int[] remaining() {
+            int count = 0;
+            for (int v = 0; v < n; v++) if (color[v] == ROOT_LABEL) count++;
+            int[] result = new int[count];
+            for (int v = 0, i = 0; v < n; v++) if (color[v] == ROOT_LABEL) result[i++] = v;
+            return result;
+        }
+
+        /**
+         * Collects the component IDs into lists ordered by their smallest vertex.
+         */
+        List<List<Integer>> components() {
+            return ordered(compOf, nextComp.get());
+        }
+
+        /**
+         * Vertices reachable from pivot inside its subproblem, forward or backward.
+         */
+        int[] reach(int pivot, int label, int capacity, boolean forward) {
+            int[] mark = forward ? fwMark : bwMark;
+            int[] queue = new int[capacity];
+            int[] tail = {1};
+            queue[0] = pivot;
+            mark[pivot] = label;
+            long scanned = 0;
+            for (int head = 0; head < tail[0]; head++) {
+                int u = queue[head];
+                if (forward) {
+                    scanned += graph.getOutDegree(u);
+                    graph.forEachOut(u, (x, w, weight) -> {
+                        if (color[w] == label && mark[w] != label) {
+                            mark[w] = label;
+                            queue[tail[0]++] = w;
+                        }
+                    });
+                } else {
+                    scanned += graph.getInDegree(u);
+                    graph.forEachIn(u, (w, x, weight) -> {
+                        if (color[w] == label && mark[w] != label) {
+                            mark[w] = label;
+                            queue[tail[0]++] = w;
+                        }
+                    });
+                }
+            }
+            visits.add(tail[0]);
+            edges.add(scanned);
+            return Arrays.copyOf(queue, tail[0]);
+        }
+
+        /**
+         * Solves a small subproblem by running SCCTarjan on its induced subgraph.
+         */
+        void solveSequential(int[] vertices, int label) {
+            for (int i = 0; i < vertices.length; i++) localIndex[vertices[i]] = i;
+            Graph sub = new Graph(vertices.length);
+            for (int v : vertices) {
+                graph.forEachOut(v, (u, w, weight) -> {
+                    if (color[w] == label) sub.addEdge(localIndex[u], localIndex[w], weight);
+                });
+            }
+            Metrics subMetrics = new Metrics();
+            for (List<Integer> comp : new SCCTarjan().findSCCs(sub, subMetrics)) {
+                int id = nextComp.getAndIncrement();
+                for (int local : comp) compOf[vertices[local]] = id;
+            }
+            for (int v : vertices) color[v] = ASSIGNED;
+            visits.add(vertices.length);
+            edges.add(sub.getEdgeCount());
+        }
+
+        /**
+         * Forward-backward step on one subproblem.
+         */
+        @SuppressWarnings("serial") // tasks are never serialized
+        final class Split extends RecursiveAction {
+            private final int[] vertices;
+            private final int label;
+            private final boolean productive;
+
+            Split(int[] vertices, int label, boolean productive) {
+                this.vertices = vertices;
+                this.label = label;
+                this.productive = productive;
+            }
+
+            @Override
+            protected void compute() {
+                if (vertices.length < PARTITION_CUTOFF || !productive) {
+                    solveSequential(vertices, label);
+                    return;
+                }
+
+                // A pivot with high in*out degree is likely to sit in a large component
+                int pivot = vertices[0];
+                long best = -1;
+                for (int v : vertices) {
+                    long score = (long) graph.getInDegree(v) * graph.getOutDegree(v);
+                    if (score > best) {
+                        best = score;
+                        pivot = v;
+                    }
+                }
+
+                int p = pivot;
+                ForkJoinTask<int[]> forward =
+                        ForkJoinTask.adapt(() -> reach(p, label, vertices.length, true)).fork();
+                int[] bw = reach(p, label, vertices.length, false);
+                int[] fw = forward.join();
+
+                int id = nextComp.getAndIncrement();
+                int fwOnlyLabel = nextLabel.getAndIncrement();
+                int bwOnlyLabel = nextLabel.getAndIncrement();
+                int restLabel = nextLabel.getAndIncrement();
+                int sccSize = 0;
+                for (int v : fw) {
+                    if (bwMark[v] == label) {
+                        compOf[v] = id;
+                        sccSize++;
+                    }
+                }
+                int[] fwOnly = new int[fw.length - sccSize];
+                int[] bwOnly = new int[bw.length - sccSize];
+                int[] rest = new int[vertices.length - fw.length - bw.length + sccSize];
+                int a = 0, b = 0, c = 0;
+                for (int v : vertices) {
+                    boolean f = fwMark[v] == label;
+                    boolean r = bwMark[v] == label;
+                    if (f && r) {
+                        color[v] = ASSIGNED;
+                    } else if (f) {
+                        color[v] = fwOnlyLabel;
+                        fwOnly[a++] = v;
+                    } else if (r) {
+                        color[v] = bwOnlyLabel;
+                        bwOnly[b++] = v;
+                    } else {
+                        color[v] = restLabel;
+                        rest[c++] = v;
+                    }
+                }
+
+                // Keep splitting only while pivots keep hitting large components
+                boolean large = sccSize >= PARTITION_CUTOFF;
+                List<Split> parts = new ArrayList<>(3);
+                if (fwOnly.length > 0) parts.add(new Split(fwOnly, fwOnlyLabel, large));
+                if (bwOnly.length > 0) parts.add(new Split(bwOnly, bwOnlyLabel, large));
+                if (rest.length > 0) parts.add(new Split(rest, restLabel, large));
+                invokeAll(parts);
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package graph.scc;
+
+import graph.models.Graph;
+import graph.utils.IntIntHashMap;
+import graph.utils.Metrics;
+import graph.utils.ParallelLoops;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Answers "can u reach v" between original vertices using labels on the condensation DAG.
+ * Each component gets its topological rank and, for two depth-first traversals with
+ * opposite child order, an interval [low, post]: post is the finishing rank and low the
+ * smallest finishing rank among its descendants. If a reaches b then rank(a) < rank(b)
+ * and b's interval lies inside a's, so most negative queries fail one of these checks.
+ * A second, narrower interval per traversal covers only the DFS subtree of a component
+ * and answers positive queries along tree edges.
+ * In addition, up to 64 hub components with the highest degree product get one bit each:
+ * every component stores the set of hubs it reaches and the set of hubs reaching it as a
+ * 64-bit mask. A reaches b if some hub lies in both a's outgoing and b's incoming set, and
+ * cannot reach b if a hub reached from b is not reached from a (or vice versa).
+ * Queries decided by the labels cost O(1). The remaining queries fall back to a DFS
+ * that skips every component failing the checks; its worst case is O(K + E) over the
+ * condensation's K components and E edges, with a visited set allocated per query, so
+ * the O(1) bound holds only for queries the labels decide.
+ * The labels take 11 ints per component. The build runs four O(K + E) passes (two
+ * depth-first labelings and two hub sweeps) as concurrent tasks; each pass is
+ * sequential, so the build uses at most four cores and its time is that of one
+ * depth-first labeling. The index is immutable and safe for concurrent queries.
+ */
+public class ReachabilityIndex {
+    private static final int TRAVERSALS = 2;
+    private static final int HUBS = Long.SIZE;
+
+    private final int[] componentOf;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] rank;
+    private final int[][] post = new int[TRAVERSALS][];
+    private final int[][] low = new int[TRAVERSALS][];
+    private final int[][] treeLow = new int[TRAVERSALS][];
+    private final long[] hubsReached;
+    private final long[] hubsReaching;
+
+    public ReachabilityIndex(CondensationResult result, Metrics metrics) {
+        this(result, ForkJoinPool.commonPool(), metrics);
+    }
+
+    /**
+     * Builds the index over a condensation.
+     *
+     * @param result  condensation of the original graph
+     * @param pool    pool running the four labeling passes, one task each
+     * @param metrics performance metrics recorder
+     */
+    public ReachabilityIndex(CondensationResult result, ForkJoinPool pool, Metrics metrics) {
+        metrics.startTimer();
+        Graph dag = result.getDag();
+        int k = dag.getVertexCount();
+        componentOf = result.getComponentOf();
+        offsets = dag.getOutOffsets();
+        targets = dag.getOutTargets();
+        rank = new int[k];
+        hubsReached = new long[k];
+        hubsReaching = new long[k];
+
+        int[] order = result.getTopologicalOrder().stream().mapToInt(Integer::intValue).toArray();
+        ParallelLoops.forRange(pool, 0, order.length, 1 << 14, i -> rank[order[i]] = i);
+        int[] hubs = selectHubs(dag);
+        ForkJoinTask<?> reached = pool.submit(() -> propagateHubs(order, hubs, true));
+        ForkJoinTask<?> reaching = pool.submit(() -> propagateHubs(order, hubs, false));
+        ForkJoinTask<?> reversed = pool.submit(() -> label(dag, 1, true));
+        label(dag, 0, false);
+        reached.join();
+        reaching.join();
+        reversed.join();
+
+        metrics.incrementDfsVisits((long) k * (TRAVERSALS + 2));
+        metrics.incrementEdgeTraversals((long) dag.getEdgeCount() * (2 * TRAVERSALS + 2));
+    }
+
+    /**
+     * Returns true if there is a path from one original vertex to another.
+     * Every vertex reaches itself; IDs outside the condensation reach nothing.
+     */
+    public boolean canReach(int from, int to) {
+        int a = from >= 0 && from < componentOf.length ? componentOf[from] : -1;
+        int b = to >= 0 && to < componentOf.length ? componentOf[to] : -1;
+        return a != -1 && b != -1 && canReachComponent(a, b);
+    }
+
+    /**
+     * Returns true if there is a path between two components of the condensation.
+     * O(1) when the labels decide; otherwise a pruned DFS, O(K + E) in the worst case.
+     */
+    public boolean canReachComponent(int a, int b) {
+        if (a == b) return true;
+        if (!mayReach(a, b)) return false;
+        if (inSubtree(a, b) || (hubsReached[a] & hubsReaching[b]) != 0) return true;
+
+        // Fallback: DFS restricted to components that may still reach b
+        IntIntHashMap visited = new IntIntHashMap();
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = a;
+        visited.put(a, 0);
+        while (top > 0) {
+            int u = stack[--top];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int c = targets[i];
+                if (c == b) return true;
+                if (!mayReach(c, b) || !visited.putIfAbsent(c, 0)) continue;
+                if (inSubtree(c, b) || (hubsReached[c] & hubsReaching[b]) != 0) return true;
+                if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                stack[top++] = c;
+            }
+        }
+        return false;
+    }
+
+    /** false guarantees that a does not reach b */
+    private boolean mayReach(int a, int b) {
+        if (rank[a] >= rank[b]) return false;
+        if ((hubsReached[b] & ~hubsReached[a]) != 0 || (hubsReaching[a] & ~hubsReaching[b]) != 0) return false;
+        for (int t = 0; t < TRAVERSALS; t++) {
+            if (low[t][b] < low[t][a] || post[t][b] > post[t][a]) return false;
+        }
+        return true;
+    }
+
+    /** true if b lies in a's DFS subtree in one of the traversals */
+    private boolean inSubtree(int a, int b) {
+        for (int t = 0; t < TRAVERSALS; t++) {
+            if (treeLow[t][a] <= post[t][b] && post[t][b] <= post[t][a]) return true;
+        }
+        return false;
+    }
+
+    /** Picks the components with the largest (in + 1) * (out + 1) degree product */
+    private static int[] selectHubs(Graph dag) {
+        int k = dag.getVertexCount();
+        if (k <= HUBS) {
+            int[] all = new int[k];
+            for (int c = 0; c < k; c++) all[c] = c;
+            return all;
+        }
+        long[] keys = new long[k];
+        for (int c = 0; c < k; c++) {
+            long score = (long) (dag.getInDegree(c) + 1) * (dag.getOutDegree(c) + 1);
+            keys[c] = (score << 32) | c;
+        }
+        Arrays.sort(keys);
+        int[] hubs = new int[HUBS];
+        for (int i = 0; i < HUBS; i++) hubs[i] = (int) keys[k - 1 - i];
+        return hubs;
+    }
+
+    /**
+     * One sweep over the topological order: the hubs reaching each component flow
+     * forward along edges, or, sweeping backwards, the hubs each component reaches.
+     */
+    private void propagateHubs(int[] order, int[] hubs, boolean reachedSide) {
+        long[] mask = reachedSide ? hubsReached : hubsReaching;
+        for (int i = 0; i < hubs.length; i++) mask[hubs[i]] |= 1L << i;
+        if (reachedSide) {
+            for (int i = order.length - 1; i >= 0; i--) {
+                int u = order[i];
+                long m = mask[u];
+                for (int j = offsets[u]; j < offsets[u + 1]; j++) m |= mask[targets[j]];
+                mask[u] = m;
+            }
+        } else {
+            for (int u : order) {
+                long m = mask[u];
+                for (int j = offsets[u]; j < offsets[u + 1]; j++) mask[targets[j]] |= m;
+            }
+        }
+    }
+
+    /**
+     * Iterative DFS from every source component (then from anything left over),
+     * visiting children in CSR order or in reverse.
+     */
+    private void label(Graph dag, int t, boolean reverse) {
+        int k = dag.getVertexCount();
+        int[] p = new int[k];
+        int[] l = new int[k];
+        int[] first = new int[k];
+        boolean[] visited = new boolean[k];
+        int[] stack = new int[k];
+        int[] next = new int[k];
+        int finished = 0;
+
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < k; i++) {
+                int root = reverse ? k - 1 - i : i;
+                if (visited[root] || (pass == 0 && dag.getInDegree(root) != 0)) continue;
+                int top = 0;
+                visited[root] = true;
+                first[root] = finished;
+                stack[top] = root;
+                next[top++] = reverse ? offsets[root + 1] - 1 : offsets[root];
+                while (top > 0) {
+                    int u = stack[top - 1];
+                    int e = next[top - 1];
+                    if (reverse ? e >= offsets[u] : e < offsets[u + 1]) {
+                        next[top - 1] = reverse ? e - 1 : e + 1;
+                        int v = targets[e];
+                        if (visited[v]) continue;
+                        visited[v] = true;
+                        first[v] = finished;
+                        stack[top] = v;
+                        next[top++] = reverse ? offsets[v + 1] - 1 : offsets[v];
+                    } else {
+                        top--;
+                        p[u] = finished;
+                        int min = finished++;
+                        for (int j = offsets[u]; j < offsets[u + 1]; j++) min = Math.min(min, l[targets[j]]);
+                        l[u] = min;
+                    }
+                }
+            }
+        }
+        post[t] = p;
+        low[t] = l;
+        treeLow[t] = first;
+    }
+}
@@ -1,8 +1,8 @@
 package graph.scc;
 
-import graph.models.Edge;
-import graph.models.Graph;
-import graph.models.Vertex;
+import graph.models.Digraph;
+import graph.models.EdgeConsumer;
+import graph.utils.Deadline;
 import graph.utils.Metrics;
 
 import java.util.*;
@@ -10,13 +10,26 @@ import java.util.*;
 /**
  * Implements Tarjan's algorithm for finding all strongly connected components (SCCs)
  * in a directed graph. The algorithm runs in O(V + E) time.
+ * The depth-first search is iterative with an explicit call stack over int arrays,
+ * so arbitrarily long dependency chains do not overflow the thread stack.
  */
 public class SCCTarjan {
     private int time;
-    private final Deque<Vertex> stack = new ArrayDeque<>();
-    private final Map<Vertex, Integer> disc = new HashMap<>();
-    private final Map<Vertex, Integer> low = new HashMap<>();
-    private final Map<Vertex, Boolean> onStack = new HashMap<>();
+    private int[] disc;
+    private int[] low;
+    private boolean[] onStack;
+    private int[] stack;
+    private int stackSize;
+
+    // Explicit DFS call stack: vertex and its [next, end) range in the neighbor buffer
+    private int[] callVertex;
+    private int[] callNext;
+    private int[] callEnd;
+
+    // Out-neighbors of every vertex on the call stack, appended on discovery
+    private int[] neighbors;
+    private int neighborCount;
+    private final EdgeConsumer appendNeighbor = this::appendNeighbor;
 
     /**
      * Finds all SCCs in the given graph using Tarjan's algorithm.
@@ -25,52 +38,114 @@ public class SCCTarjan {
      * @param metrics performance metrics collector
      * @return a list of SCCs, where each SCC is represented as a list of vertex IDs
      */
-    public List<List<Integer>> findSCCs(Graph graph, Metrics metrics) {
+    public List<List<Integer>> findSCCs(Digraph graph, Metrics metrics) {
+        return findSCCs(graph, metrics, Deadline.none());
+    }
+
+    /**
+     * Finds SCCs until the deadline expires, checking it against the edge traversal count.
+     * If the deadline expires (see {@link Deadline#isExpired()}), the returned list holds
+     * only the components completed so far; each of them is a full SCC of the graph.
+     *
+     * @param graph    the input directed graph
+     * @param metrics  performance metrics collector
+     * @param deadline time budget or cancellation flag
+     * @return the SCCs found, all of them unless the deadline expired
+     */
+    public List<List<Integer>> findSCCs(Digraph graph, Metrics metrics, Deadline deadline) {
         metrics.startTimer();
+        int n = graph.getVertexCount();
         List<List<Integer>> sccs = new ArrayList<>();
         time = 0;
-        disc.clear(); low.clear(); onStack.clear(); stack.clear();
+        disc = new int[n];
+        low = new int[n];
+        onStack = new boolean[n];
+        stack = new int[n];
+        stackSize = 0;
+        callVertex = new int[n];
+        callNext = new int[n];
+        callEnd = new int[n];
+        neighbors = new int[Math.max(16, Math.min(graph.getEdgeCount(), 1 << 20))];
+        neighborCount = 0;
+        Arrays.fill(disc, -1);
 
-        for (Vertex node : graph.getNodes()) {
-            if (!disc.containsKey(node)) {
-                dfs(node, graph, sccs, metrics);
-            }
+        for (int root = 0; root < n; root++) {
+            if (disc[root] == -1 && !dfs(root, graph, sccs, metrics, deadline)) break;
         }
+
+        disc = low = stack = callVertex = callNext = callEnd = neighbors = null;
+        onStack = null;
         return sccs;
     }
 
     /**
-     * Depth-first search helper that assigns discovery times, computes low-link values,
+     * Depth-first search from a root that assigns discovery times, computes low-link values,
      * and identifies strongly connected components.
+     * @return false if the deadline expired before the search finished
      */
-    private void dfs(Vertex u, Graph g, List<List<Integer>> sccs, Metrics m) {
-        m.incrementDfsVisits();
-        disc.put(u, time);
-        low.put(u, time++);
-        stack.push(u);
-        onStack.put(u, true);
-
-        for (Edge e : g.getOutgoing(u)) {
-            m.incrementEdgeTraversals();
-            Vertex v = e.getTo();
-            if (!disc.containsKey(v)) {
-                dfs(v, g, sccs, m);
-                low.put(u, Math.min(low.get(u), low.get(v)));
-            } else if (onStack.get(v)) {
-                low.put(u, Math.min(low.get(u), disc.get(v)));
+    private boolean dfs(int root, Digraph g, List<List<Integer>> sccs, Metrics m, Deadline deadline) {
+        int depth = 0;
+        discover(root, depth++, g, m);
+
+        while (depth > 0) {
+            if (deadline.shouldStop(m.getEdgeTraversalsCount())) return false;
+            int top = depth - 1;
+            int u = callVertex[top];
+
+            if (callNext[top] < callEnd[top]) {
+                int v = neighbors[callNext[top]++];
+                m.incrementEdgeTraversals();
+                if (disc[v] == -1) {
+                    discover(v, depth++, g, m);
+                } else if (onStack[v]) {
+                    low[u] = Math.min(low[u], disc[v]);
+                }
+                continue;
+            }
+
+            // All edges of u explored: its neighbor slice starts where the parent's ends
+            neighborCount = top > 0 ? callEnd[top - 1] : 0;
+            depth--;
+            if (depth > 0) {
+                int parent = callVertex[depth - 1];
+                low[parent] = Math.min(low[parent], low[u]);
+            }
+
+            // Root of an SCC found
+            if (low[u] == disc[u]) {
+                List<Integer> comp = new ArrayList<>();
+                int v;
+                do {
+                    v = stack[--stackSize];
+                    onStack[v] = false;
+                    comp.add(v);
+                } while (v != u);
+                sccs.add(comp);
             }
         }
+        return true;
+    }
+
+    /**
+     * Assigns discovery time to u, pushes it on both stacks and buffers its out-neighbors.
+     */
+    private void discover(int u, int frame, Digraph g, Metrics m) {
+        m.incrementDfsVisits();
+        disc[u] = time;
+        low[u] = time++;
+        stack[stackSize++] = u;
+        onStack[u] = true;
+
+        callVertex[frame] = u;
+        callNext[frame] = neighborCount;
+        g.forEachOut(u, appendNeighbor);
+        callEnd[frame] = neighborCount;
+    }
 
-        // Root of an SCC found
-        if (low.get(u).equals(disc.get(u))) {
-            List<Integer> comp = new ArrayList<>();
-            Vertex v;
-            do {
-                v = stack.pop();
-                onStack.put(v, false);
-                comp.add(v.getId());
-            } while (!v.equals(u));
-            sccs.add(comp);
+    private void appendNeighbor(int from, int to, int weight) {
+        if (neighborCount == neighbors.length) {
+            neighbors = Arrays.copyOf(neighbors, neighbors.length * 2);
         }
+        neighbors[neighborCount++] = to;
     }
 }
@@ -0,0 +1,168 @@
+package graph.topo;
+
+import graph.models.Digraph;
+import graph.models.EdgeConsumer;
+import graph.utils.IntIntHashMap;
+import graph.utils.Metrics;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DAG with a topological order that is maintained under edge insertions and deletions.
+ * An inserted edge u -> v that agrees with the order costs O(1). Otherwise only the
+ * vertices positioned between v and u are searched: those reachable from v and those
+ * reaching u, and the positions they held are reassigned so that the second group comes
+ * first (Pearce-Kelly). If the forward search reaches u, the edge would close a cycle
+ * and is rejected. Deleting an edge never invalidates the order.
+ * The structure is itself a Digraph, so it can be passed straight to
+ * DagShortestPath.compute together with getTopologicalOrder().
+ * It holds at most one edge per vertex pair: parallel edges of the copied graph collapse
+ * into one carrying the smallest of their weights, so shortest distances match the
+ * source graph, while longest distances may not. insertEdge on an existing pair
+ * replaces its weight.
+ */
+public class DynamicTopologicalOrder implements Digraph {
+    private final IntIntHashMap[] out;
+    private final IntIntHashMap[] in;
+    private final int[] ord;
+    private final int[] vertexAt;
+    private int edgeCount;
+
+    private final PearceKelly pearceKelly;
+
+    /**
+     * Copies the edges of an acyclic graph and computes its initial order.
+     * Parallel edges are kept once, with their smallest weight.
+     *
+     * @param dag     directed acyclic graph
+     * @param metrics performance metrics recorder for the initial sort
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public DynamicTopologicalOrder(Digraph dag, Metrics metrics) {
+        int n = dag.getVertexCount();
+        List<Integer> order = new TopologicalSort().sort(dag, metrics);
+        if (order.size() != n) throw new IllegalArgumentException("graph has a cycle");
+
+        out = new IntIntHashMap[n];
+        in = new IntIntHashMap[n];
+        ord = new int[n];
+        vertexAt = new int[n];
+        pearceKelly = new PearceKelly(out, in, ord, vertexAt);
+        for (int i = 0; i < n; i++) {
+            ord[order.get(i)] = i;
+            vertexAt[i] = order.get(i);
+        }
+        for (int u = 0; u < n; u++) {
+            dag.forEachOut(u, (from, to, weight) -> {
+                IntIntHashMap edges = out(from);
+                boolean present = edges.containsKey(to);
+                if (present && edges.get(to, 0) <= weight) return;
+                if (!present) edgeCount++;
+                edges.put(to, weight);
+                in(to).put(from, weight);
+            });
+        }
+    }
+
+    /**
+     * Inserts an edge and repairs the order, or rejects the edge if it would close a cycle.
+     * Inserting an existing edge replaces its weight.
+     *
+     * @param u      source vertex ID
+     * @param v      destination vertex ID
+     * @param weight edge weight
+     * @return true if the edge was inserted, false if it would create a cycle
+     */
+    public boolean insertEdge(int u, int v, int weight) {
+        Objects.checkIndex(u, ord.length);
+        Objects.checkIndex(v, ord.length);
+        if (u == v) return false;
+        if (out(u).containsKey(v) || ord[u] < ord[v]) {
+            link(u, v, weight);
+            return true;
+        }
+
+        // Order violated: explore the affected window [ord[v], ord[u]]
+        pearceKelly.begin();
+        int[] forward = pearceKelly.searchForward(v, ord[u]);
+        if (pearceKelly.reachedForward(u)) return false;
+        int[] backward = pearceKelly.searchBackward(u, ord[v]);
+
+        pearceKelly.reorder(backward, forward, -1);
+        link(u, v, weight);
+        return true;
+    }
+
+    /**
+     * Removes an edge if present; the current order stays valid.
+     * @return true if the edge existed
+     */
+    public boolean deleteEdge(int u, int v) {
+        Objects.checkIndex(u, ord.length);
+        Objects.checkIndex(v, ord.length);
+        if (out[u] == null || !out[u].remove(v)) return false;
+        in[v].remove(u);
+        edgeCount--;
+        return true;
+    }
+
+    /** return true if the graph currently has the edge u -> v */
+    public boolean hasEdge(int u, int v) {
+        return out[u] != null && out[u].containsKey(v);
+    }
+
+    /** return position of a vertex in the current topological order */
+    public int getPosition(int v) { return ord[v]; }
+
+    /**
+     * Returns the current topological order as an unmodifiable view.
+     * The view reflects later insertions, so it should not be iterated while the
+     * graph is being modified.
+     */
+    public List<Integer> getTopologicalOrder() {
+        return new AbstractList<>() {
+            @Override public Integer get(int i) { return vertexAt[Objects.checkIndex(i, vertexAt.length)]; }
+            @Override public int size() { return vertexAt.length; }
+        };
+    }
+
+    private void link(int u, int v, int weight) {
+        if (!out(u).containsKey(v)) edgeCount++;
+        out(u).put(v, weight);
+        in(v).put(u, weight);
+    }
+
+    private IntIntHashMap out(int x) {
+        if (out[x] == null) out[x] = new IntIntHashMap();
+        return out[x];
+    }
+
+    private IntIntHashMap in(int x) {
+        if (in[x] == null) in[x] = new IntIntHashMap();
+        return in[x];
+    }
+
+    @Override
+    public int getVertexCount() { return ord.length; }
+
+    @Override
+    public int getEdgeCount() { return edgeCount; }
+
+    @Override
+    public int getOutDegree(int u) { return out[u] == null ? 0 : out[u].size(); }
+
+    @Override
+    public int getInDegree(int v) { return in[v] == null ? 0 : in[v].size(); }
+
+    @Override
+    public void forEachOut(int u, EdgeConsumer action) {
+        if (out[u] != null) out[u].forEach((v, weight) -> action.accept(u, v, weight));
+    }
+
+    @Override
+    public void forEachIn(int v, EdgeConsumer action) {
+        if (in[v] != null) in[v].forEach((u, weight) -> action.accept(u, v, weight));
+    }
+}
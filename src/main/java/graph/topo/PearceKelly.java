@@ -0,0 +1,125 @@
+package graph.topo;
+
+import graph.utils.IntIntHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Search and reordering steps of the Pearce-Kelly dynamic topological order, shared by
+ * DynamicTopologicalOrder and IncrementalCondensation. The owner keeps the adjacency
+ * maps and the position arrays; this class reads them during a search and rewrites
+ * the positions during a reorder. Marks are stamped per insertion so nothing has to
+ * be cleared. Public only because its users live in different packages.
+ */
+public final class PearceKelly {
+    private final IntIntHashMap[] out;
+    private final IntIntHashMap[] in;
+    private final int[] ord;
+    private final int[] at;
+
+    private final int[] forwardMark;
+    private final int[] backwardMark;
+    private int stamp;
+    private int[] work = new int[16];
+    private int workCount;
+
+    /**
+     * @param out successor maps per node, null for none
+     * @param in  predecessor maps per node, null for none
+     * @param ord order position of every node
+     * @param at  node at every order position, -1 for an empty slot
+     */
+    public PearceKelly(IntIntHashMap[] out, IntIntHashMap[] in, int[] ord, int[] at) {
+        this.out = out;
+        this.in = in;
+        this.ord = ord;
+        this.at = at;
+        this.forwardMark = new int[ord.length];
+        this.backwardMark = new int[ord.length];
+    }
+
+    /** Starts a new insertion, forgetting the marks of the previous one */
+    public void begin() {
+        stamp++;
+    }
+
+    /** Nodes reachable from start without passing order position upper */
+    public int[] searchForward(int start, int upper) {
+        return search(start, upper, true);
+    }
+
+    /** Nodes reaching start without passing below order position lower */
+    public int[] searchBackward(int start, int lower) {
+        return search(start, lower, false);
+    }
+
+    /** return true if the forward search of the current insertion reached x */
+    public boolean reachedForward(int x) { return forwardMark[x] == stamp; }
+
+    /** return true if the backward search of the current insertion reached x */
+    public boolean reachedBackward(int x) { return backwardMark[x] == stamp; }
+
+    /** return true if x was reached by both searches, i.e. lies on a cycle through the new edge */
+    public boolean reachedBoth(int x) { return reachedForward(x) && reachedBackward(x); }
+
+    private int[] search(int start, int bound, boolean forwardDirection) {
+        int[] mark = forwardDirection ? forwardMark : backwardMark;
+        workCount = 0;
+        push(start, mark);
+        for (int head = 0; head < workCount; head++) {
+            IntIntHashMap next = forwardDirection ? out[work[head]] : in[work[head]];
+            if (next == null) continue;
+            next.forEach((d, weight) -> {
+                boolean inside = forwardDirection ? ord[d] <= bound : ord[d] >= bound;
+                if (inside && mark[d] != stamp) push(d, mark);
+            });
+        }
+        return Arrays.copyOf(work, workCount);
+    }
+
+    private void push(int x, int[] mark) {
+        mark[x] = stamp;
+        if (workCount == work.length) work = Arrays.copyOf(work, workCount * 2);
+        work[workCount++] = x;
+    }
+
+    /**
+     * Reassigns the order positions held by the searched nodes: nodes that reach the new
+     * edge's source come first, then the merged node if any, then nodes reachable from
+     * its target, each group keeping its relative order. Slots freed by a merge end up
+     * between the two groups and are left empty.
+     *
+     * @param backward result of searchBackward for this insertion
+     * @param forward  result of searchForward for this insertion
+     * @param merged   node that absorbed the cycle through the new edge, or -1
+     */
+    public void reorder(int[] backward, int[] forward, int merged) {
+        int[] before = byOrder(Arrays.stream(backward).filter(x -> x != merged && !reachedForward(x)).toArray());
+        int[] after = byOrder(Arrays.stream(forward).filter(x -> x != merged && !reachedBackward(x)).toArray());
+
+        int[] slots = new int[backward.length + forward.length];
+        int count = 0;
+        for (int x : backward) slots[count++] = ord[x];
+        for (int x : forward) if (!reachedBackward(x)) slots[count++] = ord[x];
+        Arrays.sort(slots, 0, count);
+        for (int i = 0; i < count; i++) at[slots[i]] = -1;
+
+        for (int i = 0; i < before.length; i++) place(before[i], slots[i]);
+        if (merged != -1) place(merged, slots[before.length]);
+        for (int i = 0; i < after.length; i++) place(after[i], slots[count - after.length + i]);
+    }
+
+    /** Sorts nodes by their current order position */
+    private int[] byOrder(int[] nodes) {
+        int[] positions = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) positions[i] = ord[nodes[i]];
+        Arrays.sort(positions);
+        for (int i = 0; i < nodes.length; i++) nodes[i] = at[positions[i]];
+        return nodes;
+    }
+
+    private void place(int x, int position) {
+        ord[x] = position;
+        at[position] = x;
+    }
+}
@@ -0,0 +1,52 @@
+package graph.topo;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Topological order split into levels. Level 0 holds the vertices with no incoming
+ * edges, and level i holds the vertices whose longest incoming path has i edges,
+ * so vertices within one level never depend on each other.
+ * Level i occupies order[levelOffsets[i] .. levelOffsets[i + 1]), sorted by vertex ID.
+ */
+public class TopologicalLevels {
+    private final int vertexCount;
+    private final int[] order;
+    private final int[] levelOffsets;
+
+    public TopologicalLevels(int vertexCount, int[] order, int[] levelOffsets) {
+        this.vertexCount = vertexCount;
+        this.order = order;
+        this.levelOffsets = levelOffsets;
+    }
+
+    /** return flat topological order as a list view */
+    public List<Integer> getOrder() { return view(0, order.length); }
+
+    /** return flat topological order; do not modify */
+    public int[] getOrderArray() { return order; }
+
+    /** return level boundaries into the flat order, length getLevelCount() + 1; do not modify */
+    public int[] getLevelOffsets() { return levelOffsets; }
+
+    public int getLevelCount() { return levelOffsets.length - 1; }
+
+    /** return vertices of one level as a list view */
+    public List<Integer> getLevel(int level) {
+        return view(levelOffsets[level], levelOffsets[level + 1]);
+    }
+
+    /**
+     * Returns false if some vertices were never ordered because they lie on or
+     * behind a cycle.
+     */
+    public boolean isComplete() { return order.length == vertexCount; }
+
+    private List<Integer> view(int from, int to) {
+        return new AbstractList<>() {
+            @Override public Integer get(int i) { return order[from + Objects.checkIndex(i, to - from)]; }
+            @Override public int size() { return to - from; }
+        };
+    }
+}
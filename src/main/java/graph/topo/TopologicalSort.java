@@ -1,11 +1,11 @@
 package graph.topo;
 
-import graph.models.Edge;
-import graph.models.Graph;
-import graph.models.Vertex;
+import graph.models.Digraph;
+import graph.models.EdgeConsumer;
 import graph.utils.Metrics;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Performs topological sorting of a directed acyclic graph (DAG)
@@ -22,43 +22,38 @@ public class TopologicalSort {
      * @param metrics performance metrics collector
      * @return list of vertex IDs in topological order
      */
-    public List<Integer> sort(Graph dag, Metrics metrics) {
+    public List<Integer> sort(Digraph dag, Metrics metrics) {
         metrics.startTimer();
 
-        // Initialize in-degree map for all vertices
-        Map<Vertex, Integer> inDegree = new HashMap<>();
-        for (Vertex n : dag.getNodes()) inDegree.put(n, 0);
+        int n = dag.getVertexCount();
 
-        // Count in-degrees
-        for (Vertex n : dag.getNodes()) {
-            for (Edge e : dag.getOutgoing(n)) {
-                inDegree.merge(e.getTo(), 1, Integer::sum);
-            }
-        }
+        // Initialize in-degree array for all vertices
+        int[] inDegree = new int[n];
+        for (int v = 0; v < n; v++) inDegree[v] = dag.getInDegree(v);
 
         // Initialize queue with all vertices having in-degree = 0
-        Queue<Vertex> q = new ArrayDeque<>();
-        for (Map.Entry<Vertex, Integer> e : inDegree.entrySet()) {
-            if (e.getValue() == 0) q.add(e.getKey());
+        int[] queue = new int[n];
+        int[] tail = {0};
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) queue[tail[0]++] = v;
         }
 
+        // Decrease in-degree of a neighbor, enqueueing it once it reaches zero
+        EdgeConsumer release = (u, v, w) -> {
+            metrics.incrementEdgeTraversals();
+            if (--inDegree[v] == 0) {
+                queue[tail[0]++] = v;
+                metrics.incrementQueueOperations();
+            }
+        };
+
         // Process vertices in BFS order
-        List<Integer> order = new ArrayList<>();
-        while (!q.isEmpty()) {
-            Vertex u = q.poll();
+        List<Integer> order = new ArrayList<>(n);
+        for (int head = 0; head < tail[0]; head++) {
+            int u = queue[head];
             metrics.incrementQueueOperations();
-            order.add(u.getId());
-
-            // Decrease in-degree of all neighbors
-            for (Edge e : dag.getOutgoing(u)) {
-                metrics.incrementEdgeTraversals();
-                Vertex v = e.getTo();
-                inDegree.merge(v, -1, Integer::sum);
-                if (inDegree.get(v) == 0) {
-                    q.add(v);
-                    metrics.incrementQueueOperations();
-                }
-            }
+            order.add(u);
+            dag.forEachOut(u, release);
         }
         return order;
     }
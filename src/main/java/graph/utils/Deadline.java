@@ -0,0 +1,68 @@
+package graph.utils;
+
+import java.time.Duration;
+
+/**
+ * Time budget and cancellation flag for a long-running graph computation.
+ * Algorithms poll {@link #shouldStop(long)} with one of their Metrics counters; the clock
+ * and the cancellation flag are only read once the counter has advanced by the check
+ * interval, so polling costs a comparison per step. Once expired, a deadline stays expired.
+ * A deadline serves one computation at a time; cancel() may be called from any thread.
+ */
+public final class Deadline {
+    /** Default number of counted operations between two clock reads */
+    public static final int DEFAULT_CHECK_INTERVAL = 1 << 12;
+
+    private final long expiresAt;
+    private final boolean timed;
+    private final int checkInterval;
+    private volatile boolean cancelled;
+    private boolean expired;
+    private long nextCheck;
+
+    private Deadline(long expiresAt, boolean timed, int checkInterval) {
+        if (checkInterval < 1) throw new IllegalArgumentException("checkInterval < 1: " + checkInterval);
+        this.expiresAt = expiresAt;
+        this.timed = timed;
+        this.checkInterval = checkInterval;
+    }
+
+    /** return a deadline that only expires through cancel() */
+    public static Deadline none() {
+        return new Deadline(0, false, DEFAULT_CHECK_INTERVAL);
+    }
+
+    /** return a deadline expiring after the given time from now */
+    public static Deadline after(Duration timeout) {
+        return after(timeout, DEFAULT_CHECK_INTERVAL);
+    }
+
+    /**
+     * @param timeout       time budget starting now
+     * @param checkInterval counted operations between two clock reads
+     */
+    public static Deadline after(Duration timeout, int checkInterval) {
+        return new Deadline(System.nanoTime() + timeout.toNanos(), true, checkInterval);
+    }
+
+    /** Requests the computation to stop at its next check */
+    public void cancel() { cancelled = true; }
+
+    public boolean isCancelled() { return cancelled; }
+
+    /**
+     * Cooperative check called by algorithms.
+     * @param work a non-decreasing operation counter, e.g. Metrics relaxations
+     * @return true if the computation should stop now
+     */
+    public boolean shouldStop(long work) {
+        if (expired) return true;
+        if (work < nextCheck) return false;
+        nextCheck = work + checkInterval;
+        expired = cancelled || (timed && System.nanoTime() - expiresAt >= 0);
+        return expired;
+    }
+
+    /** return true if a computation using this deadline was stopped early */
+    public boolean isExpired() { return expired; }
+}
@@ -0,0 +1,304 @@
+package graph.utils;
+
+import graph.models.Graph;
+import graph.models.LoadedGraph;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Loads directed graphs from plain-text edge lists with one "u v w" edge per line.
+ * Fields are separated by spaces or tabs; the weight may be omitted and then defaults
+ * to 1. Blank lines and lines starting with '#' or '%' are skipped. Vertex IDs are
+ * non-negative and the vertex count is the largest ID plus one.
+ * The file is memory-mapped and split into newline-aligned chunks that are parsed in
+ * parallel by a hand-rolled byte parser straight into primitive edge arrays. The CSR
+ * arrays are then built in parallel by counting sort, keeping file order within every
+ * adjacency list, so the result is identical to adding the edges one by one.
+ */
+public class EdgeListLoader {
+    private static final String WEIGHT_MODEL = "edge";
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+    private static final int EDGE_GRAIN = 1 << 16;
+    private static final int RANGE_BITS = 14;
+    private static final int MAX_RANGES = 1 << 12;
+
+    private final ForkJoinPool pool;
+
+    public EdgeListLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public EdgeListLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Loads an edge list with source vertex 0.
+     * @throws RuntimeException if the file cannot be read or a line is malformed
+     */
+    public LoadedGraph load(String path) {
+        return load(path, 0);
+    }
+
+    /**
+     * Loads an edge list.
+     * @param path   path to the edge-list file
+     * @param source source vertex ID recorded in the result
+     * @return a LoadedGraph with a compacted graph and the "edge" weight model
+     * @throws RuntimeException if the file cannot be read or a line is malformed
+     */
+    public LoadedGraph load(String path, int source) {
+        try (FileChannel ch = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+             Arena arena = Arena.ofShared()) {
+            MemorySegment data = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size(), arena);
+            return new LoadedGraph(parse(data), source, WEIGHT_MODEL);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load: " + path, e);
+        }
+    }
+
+    private Graph parse(MemorySegment data) {
+        long size = data.byteSize();
+        int chunks = (int) Math.max(1, Math.min(size / MIN_CHUNK_BYTES, pool.getParallelism() * 16L));
+        long[] bounds = new long[chunks + 1];
+        bounds[chunks] = size;
+        for (int c = 1; c < chunks; c++) {
+            long p = Math.max(bounds[c - 1], size / chunks * c);
+            while (p < size && p > 0 && data.get(ValueLayout.JAVA_BYTE, p - 1) != '\n') p++;
+            bounds[c] = p;
+        }
+
+        // Every line holds at most one edge, so line counts give each chunk its slice
+        long[] base = new long[chunks + 1];
+        ParallelLoops.forRange(pool, 0, chunks, 1, c -> base[c + 1] = countLines(data, bounds[c], bounds[c + 1]));
+        for (int c = 0; c < chunks; c++) base[c + 1] += base[c];
+        if (base[chunks] > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("too many lines: " + base[chunks]);
+
+        int capacity = (int) base[chunks];
+        int[] from = new int[capacity];
+        int[] to = new int[capacity];
+        int[] weights = new int[capacity];
+        int[] counts = new int[chunks];
+        int[] maxIds = new int[chunks];
+        ParallelLoops.forRange(pool, 0, chunks, 1, c -> {
+            ChunkParser parser = new ChunkParser(data, bounds[c], bounds[c + 1]);
+            counts[c] = parser.parse(from, to, weights, (int) base[c]);
+            maxIds[c] = parser.maxId;
+        });
+
+        // Close the gaps left by blank and comment lines
+        int m = 0;
+        int maxId = -1;
+        for (int c = 0; c < chunks; c++) {
+            int start = (int) base[c];
+            if (start != m) {
+                System.arraycopy(from, start, from, m, counts[c]);
+                System.arraycopy(to, start, to, m, counts[c]);
+                System.arraycopy(weights, start, weights, m, counts[c]);
+            }
+            m += counts[c];
+            maxId = Math.max(maxId, maxIds[c]);
+        }
+        return buildCsr(maxId + 1, from, to, weights, m);
+    }
+
+    /**
+     * Builds forward and reverse CSR arrays by a parallel two-level counting sort: edges are
+     * first distributed stably into ranges of consecutive vertices, then each range is
+     * sorted by vertex on its own. Both passes preserve file order, need no atomics, and
+     * move edge payloads along so that no pass gathers from random positions.
+     */
+    private Graph buildCsr(int n, int[] from, int[] to, int[] weights, int m) {
+        int[][] scratch = {new int[m], new int[m], new int[m]};
+
+        int[] targets = new int[m];
+        int[] outWeights = new int[m];
+        int[] outOffsets = sort(n, m, from, to, weights, targets, outWeights, scratch);
+
+        int[] sources = new int[m];
+        int[] inWeights = new int[m];
+        int[] inOffsets = sort(n, m, to, from, weights, sources, inWeights, scratch);
+
+        return Graph.fromCsr(n, outOffsets, targets, outWeights, inOffsets, sources, inWeights);
+    }
+
+    /**
+     * Stably sorts (key, other, weight) triples by key into other/weight output arrays.
+     * @return CSR offsets over the keys
+     */
+    private int[] sort(int n, int m, int[] keys, int[] others, int[] weights,
+                       int[] sortedOthers, int[] sortedWeights, int[][] scratch) {
+        int[] offsets = new int[n + 1];
+        offsets[n] = m;
+        if (n == 0) return offsets;
+        int shift = RANGE_BITS;
+        while (((n - 1) >>> shift) >= MAX_RANGES) shift++;
+        int rangeBits = shift;
+        int ranges = ((n - 1) >>> shift) + 1;
+        int blocks = (int) Math.max(1, Math.min(pool.getParallelism() * 4L, (m + EDGE_GRAIN - 1) / EDGE_GRAIN));
+        int[] scratchKeys = scratch[0];
+        int[] scratchOthers = scratch[1];
+        int[] scratchWeights = scratch[2];
+
+        // Per-block histograms over vertex ranges, turned into block cursors in range-major order
+        int[] cursor = new int[blocks * ranges];
+        ParallelLoops.forRange(pool, 0, blocks, 1, b -> {
+            for (int e = blockStart(b, blocks, m), end = blockStart(b + 1, blocks, m); e < end; e++) {
+                cursor[b * ranges + (keys[e] >>> rangeBits)]++;
+            }
+        });
+        int[] rangeStart = new int[ranges + 1];
+        for (int r = 0, pos = 0; r < ranges; r++) {
+            rangeStart[r] = pos;
+            for (int b = 0; b < blocks; b++) {
+                int count = cursor[b * ranges + r];
+                cursor[b * ranges + r] = pos;
+                pos += count;
+            }
+        }
+        rangeStart[ranges] = m;
+        ParallelLoops.forRange(pool, 0, blocks, 1, b -> {
+            for (int e = blockStart(b, blocks, m), end = blockStart(b + 1, blocks, m); e < end; e++) {
+                int pos = cursor[b * ranges + (keys[e] >>> rangeBits)]++;
+                scratchKeys[pos] = keys[e];
+                scratchOthers[pos] = others[e];
+                scratchWeights[pos] = weights[e];
+            }
+        });
+
+        // Each range covers its own vertices, so ranges are sorted independently
+        ParallelLoops.forRange(pool, 0, ranges, 1, r -> {
+            int lo = r << rangeBits;
+            int[] next = new int[Math.min(n - lo, 1 << rangeBits)];
+            for (int i = rangeStart[r]; i < rangeStart[r + 1]; i++) next[scratchKeys[i] - lo]++;
+            for (int v = 0, pos = rangeStart[r]; v < next.length; v++) {
+                int count = next[v];
+                offsets[lo + v] = pos;
+                next[v] = pos;
+                pos += count;
+            }
+            for (int i = rangeStart[r]; i < rangeStart[r + 1]; i++) {
+                int pos = next[scratchKeys[i] - lo]++;
+                sortedOthers[pos] = scratchOthers[i];
+                sortedWeights[pos] = scratchWeights[i];
+            }
+        });
+        return offsets;
+    }
+
+    private static int blockStart(int b, int blocks, int m) {
+        return (int) ((long) m * b / blocks);
+    }
+
+    /** Number of lines in [from, to), counting a final line without a newline */
+    private static long countLines(MemorySegment data, long from, long to) {
+        long lines = 0;
+        for (long i = from; i < to; i++) {
+            if (data.get(ValueLayout.JAVA_BYTE, i) == '\n') lines++;
+        }
+        if (to > from && data.get(ValueLayout.JAVA_BYTE, to - 1) != '\n') lines++;
+        return lines;
+    }
+
+    /** Parses the edges of one chunk; the chunk starts at a line start and ends after a newline or at EOF */
+    private static final class ChunkParser {
+        private final MemorySegment data;
+        private final long end;
+        private long pos;
+        int maxId = -1;
+
+        ChunkParser(MemorySegment data, long start, long end) {
+            this.data = data;
+            this.pos = start;
+            this.end = end;
+        }
+
+        /** Writes edges from index at on and returns how many were written */
+        int parse(int[] from, int[] to, int[] weights, int at) {
+            int e = at;
+            while (pos < end) {
+                skipBlanks();
+                if (pos == end) break;
+                byte b = peek();
+                if (b == '\n' || b == '\r' || b == '#' || b == '%') {
+                    skipLine();
+                    continue;
+                }
+                int u = readId();
+                int v = readId();
+                skipBlanks();
+                int w = 1;
+                if (pos < end && (isDigit(peek()) || peek() == '-')) w = readWeight();
+                skipBlanks();
+                if (pos < end && peek() == '\r') pos++;
+                if (pos < end && peek() != '\n') throw malformed();
+                pos++;
+                from[e] = u;
+                to[e] = v;
+                weights[e++] = w;
+                maxId = Math.max(maxId, Math.max(u, v));
+            }
+            return e - at;
+        }
+
+        private int readId() {
+            skipBlanks();
+            long value = readDigits();
+            if (value > Integer.MAX_VALUE) throw malformed();
+            return (int) value;
+        }
+
+        private int readWeight() {
+            boolean negative = peek() == '-';
+            if (negative) pos++;
+            long value = readDigits();
+            if (value > Integer.MAX_VALUE) throw malformed();
+            return negative ? (int) -value : (int) value;
+        }
+
+        /** Reads at least one digit, saturating at Integer.MAX_VALUE + 1 */
+        private long readDigits() {
+            long p = pos;
+            long value = 0;
+            for (byte b; p < end && isDigit(b = data.get(ValueLayout.JAVA_BYTE, p)); p++) {
+                value = Math.min(value * 10 + (b - '0'), Integer.MAX_VALUE + 1L);
+            }
+            if (p == pos) throw malformed();
+            pos = p;
+            return value;
+        }
+
+        private void skipBlanks() {
+            long p = pos;
+            while (p < end) {
+                byte b = data.get(ValueLayout.JAVA_BYTE, p);
+                if (b != ' ' && b != '\t') break;
+                p++;
+            }
+            pos = p;
+        }
+
+        private void skipLine() {
+            while (pos < end && peek() != '\n') pos++;
+            pos++;
+        }
+
+        private byte peek() {
+            return data.get(ValueLayout.JAVA_BYTE, pos);
+        }
+
+        private IllegalArgumentException malformed() {
+            return new IllegalArgumentException("malformed edge line near byte " + pos);
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+    }
+}
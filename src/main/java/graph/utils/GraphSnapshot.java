@@ -0,0 +1,288 @@
+package graph.utils;
+
+import graph.models.Graph;
+import graph.models.LoadedGraph;
+import graph.models.OffHeapGraph;
+import graph.scc.CondensationResult;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Versioned binary snapshot of a loaded graph, read back through memory-mapped I/O.
+ * All values are little-endian 32-bit ints:
+ * <pre>
+ * magic "GSNP", format version, n, m, source, component count (-1 if absent),
+ * topological order length (-1 if absent), weight model byte length (-1 if null),
+ * weight model UTF-8 bytes padded to a multiple of 4,
+ * CSR offsets[n + 1], targets[m], weights[m],
+ * reverse CSR offsets[n + 1], sources[m], weights[m],
+ * [component of every vertex, n ints], [topological order of the components]
+ * </pre>
+ * Reading maps the file and bulk-copies each section into the arrays of a compacted
+ * Graph. Both edge directions are stored so nothing has to be rebuilt: opening costs
+ * little more than a memory copy from the page cache. {@link #map} skips the copy
+ * altogether and traverses the mapped sections in place as an {@link OffHeapGraph}.
+ */
+public class GraphSnapshot {
+    /** Format version written by this class */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x504E5347; // "GSNP" in file byte order
+    private static final int HEADER_INTS = 8;
+    private static final int CHUNK_BYTES = 1 << 24;
+
+    private final LoadedGraph loaded;
+    private final int[] componentOf;
+    private final int componentCount;
+    private final int[] topologicalOrder;
+
+    private GraphSnapshot(LoadedGraph loaded, int[] componentOf, int componentCount, int[] topologicalOrder) {
+        this.loaded = loaded;
+        this.componentOf = componentOf;
+        this.componentCount = componentCount;
+        this.topologicalOrder = topologicalOrder;
+    }
+
+    /**
+     * Writes a graph without precomputed data.
+     * @throws RuntimeException if the file cannot be written
+     */
+    public static void write(String path, LoadedGraph loaded) {
+        write(path, loaded, null);
+    }
+
+    /**
+     * Writes a graph together with the SCC ids and the topological order of its condensation.
+     * @param condensation condensation of loaded.getGraph(), or null to omit both sections
+     * @throws RuntimeException if the file cannot be written
+     */
+    public static void write(String path, LoadedGraph loaded, CondensationResult condensation) {
+        Graph g = loaded.getGraph();
+        int n = g.getVertexCount();
+        int m = g.getEdgeCount();
+        byte[] model = loaded.getWeightModel() == null ? null : loaded.getWeightModel().getBytes(StandardCharsets.UTF_8);
+        int[] componentOf = null;
+        int[] order = null;
+        int componentCount = -1;
+        if (condensation != null) {
+            // The mapping may be shorter than n when built from a map; unmapped vertices get -1
+            componentOf = new int[n];
+            for (int v = 0; v < n; v++) componentOf[v] = condensation.getSuperId(v);
+            componentCount = condensation.getComponentCount();
+            order = condensation.getTopologicalOrder().stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        try (FileChannel ch = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(n).putInt(m).putInt(loaded.getSource())
+                    .putInt(componentCount).putInt(order == null ? -1 : order.length)
+                    .putInt(model == null ? -1 : model.length);
+            if (model != null) {
+                buf.put(model);
+                while (buf.position() % 4 != 0) buf.put((byte) 0);
+            }
+            writeInts(ch, buf, g.getOutOffsets(), n + 1);
+            writeInts(ch, buf, g.getOutTargets(), m);
+            writeInts(ch, buf, g.getOutWeights(), m);
+            writeInts(ch, buf, g.getInOffsets(), n + 1);
+            writeInts(ch, buf, g.getInSources(), m);
+            writeInts(ch, buf, g.getInWeights(), m);
+            if (componentOf != null) writeInts(ch, buf, componentOf, n);
+            if (order != null) writeInts(ch, buf, order, order.length);
+            flush(ch, buf);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to write: " + path, e);
+        }
+    }
+
+    /**
+     * Opens a snapshot written by {@link #write}.
+     * @throws RuntimeException if the file cannot be read or is not a supported snapshot
+     */
+    public static GraphSnapshot read(String path) {
+        try (FileChannel ch = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            IntBuffer header = map(ch, 0, HEADER_INTS);
+            if (header.get(0) != MAGIC) throw new IOException("not a graph snapshot");
+            if (header.get(1) != FORMAT_VERSION) throw new IOException("unsupported format version " + header.get(1));
+            int n = header.get(2);
+            int m = header.get(3);
+            int source = header.get(4);
+            int componentCount = header.get(5);
+            int orderLength = header.get(6);
+            int modelLength = header.get(7);
+            if (n < 0 || m < 0) throw new IOException("negative section length");
+            if (modelLength < -1) throw new IOException("corrupt weight model length");
+
+            long position = HEADER_INTS * 4L;
+            String model = null;
+            if (modelLength >= 0) {
+                if (position + modelLength > ch.size()) throw new IOException("snapshot truncated");
+                ByteBuffer bytes = ch.map(FileChannel.MapMode.READ_ONLY, position, modelLength);
+                byte[] raw = new byte[modelLength];
+                bytes.get(raw);
+                model = new String(raw, StandardCharsets.UTF_8);
+                position += (modelLength + 3L) & ~3L;
+            }
+
+            int[] offsets = readInts(ch, position, n + 1);
+            position += 4L * (n + 1);
+            int[] targets = readInts(ch, position, m);
+            position += 4L * m;
+            int[] weights = readInts(ch, position, m);
+            position += 4L * m;
+            int[] inOffsets = readInts(ch, position, n + 1);
+            position += 4L * (n + 1);
+            int[] sources = readInts(ch, position, m);
+            position += 4L * m;
+            int[] inWeights = readInts(ch, position, m);
+            position += 4L * m;
+            int[] componentOf = null;
+            if (componentCount >= 0) {
+                componentOf = readInts(ch, position, n);
+                position += 4L * n;
+            }
+            int[] order = orderLength >= 0 ? readInts(ch, position, orderLength) : null;
+
+            checkCsr(n, m, offsets, targets, "forward");
+            checkCsr(n, m, inOffsets, sources, "reverse");
+            if (componentOf != null || order != null) checkCondensation(componentCount, componentOf, order);
+            Graph graph = Graph.fromCsr(n, offsets, targets, weights, inOffsets, sources, inWeights);
+            return new GraphSnapshot(new LoadedGraph(graph, source, model), componentOf, componentCount, order);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load: " + path, e);
+        }
+    }
+
+    /**
+     * Maps a snapshot written by {@link #write} and exposes its edge sections as an
+     * off-heap graph without copying them; the weight model and the optional
+     * condensation sections are ignored. The mapping lives as long as the arena.
+     * Only the header and section sizes are checked; edge data is not scanned, so
+     * unlike {@link #read} a corrupt file may fail later during traversal.
+     * @throws RuntimeException if the file cannot be mapped or is not a supported snapshot
+     */
+    public static OffHeapGraph map(String path, Arena arena) {
+        try (FileChannel ch = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            if (ch.size() < HEADER_INTS * 4L) throw new IOException("snapshot truncated");
+            MemorySegment file = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size(), arena);
+            if (file.getAtIndex(OffHeapGraph.INT, 0) != MAGIC) throw new IOException("not a graph snapshot");
+            int version = file.getAtIndex(OffHeapGraph.INT, 1);
+            if (version != FORMAT_VERSION) throw new IOException("unsupported format version " + version);
+            int n = file.getAtIndex(OffHeapGraph.INT, 2);
+            int m = file.getAtIndex(OffHeapGraph.INT, 3);
+            int modelLength = file.getAtIndex(OffHeapGraph.INT, 7);
+            if (n < 0 || m < 0) throw new IOException("negative section length");
+            if (modelLength < -1) throw new IOException("corrupt weight model length");
+
+            long position = HEADER_INTS * 4L + (modelLength == -1 ? 0 : (modelLength + 3L) & ~3L);
+            long[] sizes = {n + 1, m, m, n + 1, m, m};
+            MemorySegment[] sections = new MemorySegment[sizes.length];
+            for (int i = 0; i < sizes.length; i++) {
+                if (position + 4 * sizes[i] > file.byteSize()) throw new IOException("snapshot truncated");
+                sections[i] = file.asSlice(position, 4 * sizes[i]);
+                position += 4 * sizes[i];
+            }
+            return OffHeapGraph.fromSegments(n, sections[0], sections[1], sections[2],
+                    sections[3], sections[4], sections[5]);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load: " + path, e);
+        }
+    }
+
+    public LoadedGraph getLoadedGraph() { return loaded; }
+
+    /** return true if the snapshot holds SCC ids and a condensation order */
+    public boolean hasComponents() { return componentOf != null; }
+
+    /** return number of SCCs, or -1 if absent */
+    public int getComponentCount() { return componentCount; }
+
+    /** return SCC id of every vertex, or null if absent; do not modify */
+    public int[] getComponentOf() { return componentOf; }
+
+    /** return topological order of the condensation's components, or null if absent */
+    public List<Integer> getTopologicalOrder() {
+        if (topologicalOrder == null) return null;
+        return new AbstractList<>() {
+            @Override public Integer get(int i) { return topologicalOrder[Objects.checkIndex(i, topologicalOrder.length)]; }
+            @Override public int size() { return topologicalOrder.length; }
+        };
+    }
+
+    /** Rejects offsets that decrease or do not end at m, and endpoints outside [0, n) */
+    private static void checkCsr(int n, int m, int[] offsets, int[] endpoints, String direction) throws IOException {
+        if (offsets[0] != 0 || offsets[n] != m) throw new IOException("corrupt " + direction + " offsets");
+        for (int v = 0; v < n; v++) {
+            if (offsets[v + 1] < offsets[v]) throw new IOException("corrupt " + direction + " offsets at vertex " + v);
+        }
+        for (int i = 0; i < m; i++) {
+            if (endpoints[i] < 0 || endpoints[i] >= n) throw new IOException("corrupt " + direction + " edge " + i);
+        }
+    }
+
+    /**
+     * Rejects component IDs outside [-1, componentCount), -1 marking an unmapped vertex,
+     * and a component order that is not a permutation of the component IDs.
+     */
+    private static void checkCondensation(int componentCount, int[] componentOf, int[] order) throws IOException {
+        if (componentOf == null || order == null || order.length != componentCount) {
+            throw new IOException("corrupt condensation sections");
+        }
+        for (int v = 0; v < componentOf.length; v++) {
+            if (componentOf[v] < -1 || componentOf[v] >= componentCount) throw new IOException("corrupt component of vertex " + v);
+        }
+        boolean[] seen = new boolean[componentCount];
+        for (int i = 0; i < order.length; i++) {
+            int c = order[i];
+            if (c < 0 || c >= componentCount || seen[c]) throw new IOException("corrupt topological order at " + i);
+            seen[c] = true;
+        }
+    }
+
+    private static void writeInts(FileChannel ch, ByteBuffer buf, int[] values, int count) throws IOException {
+        for (int i = 0; i < count; ) {
+            if (buf.remaining() < 4) flush(ch, buf);
+            IntBuffer ints = buf.asIntBuffer();
+            int len = Math.min(ints.remaining(), count - i);
+            ints.put(values, i, len);
+            buf.position(buf.position() + 4 * len);
+            i += len;
+        }
+    }
+
+    private static void flush(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+    }
+
+    private static int[] readInts(FileChannel ch, long position, int count) throws IOException {
+        if (count < 0) throw new IOException("negative section length");
+        int[] values = new int[count];
+        for (int i = 0; i < count; ) {
+            int len = Math.min(CHUNK_BYTES / 4, count - i);
+            map(ch, position + 4L * i, len).get(values, i, len);
+            i += len;
+        }
+        return values;
+    }
+
+    private static IntBuffer map(FileChannel ch, long position, int ints) throws IOException {
+        if (position + 4L * ints > ch.size()) throw new IOException("snapshot truncated");
+        return ch.map(FileChannel.MapMode.READ_ONLY, position, 4L * ints)
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+}
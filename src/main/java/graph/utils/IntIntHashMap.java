@@ -0,0 +1,157 @@
+package graph.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from non-negative int keys to int values.
+ * Uses linear probing with backward-shift deletion, so there are no tombstones
+ * and no boxing of keys or values.
+ */
+public class IntIntHashMap {
+    private static final int EMPTY = -1;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    /** Receives one key/value entry during iteration */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    public IntIntHashMap() {
+        this(4);
+    }
+
+    /**
+     * @param expectedSize number of entries the map should hold without resizing
+     */
+    public IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public boolean containsKey(int key) {
+        return key >= 0 && keys[slot(key)] == key;
+    }
+
+    /**
+     * Returns the value for key, or defaultValue if the key is absent.
+     */
+    public int get(int key, int defaultValue) {
+        if (key < 0) return defaultValue;
+        int i = slot(key);
+        return keys[i] == key ? values[i] : defaultValue;
+    }
+
+    /**
+     * Associates value with key, replacing any previous value.
+     */
+    public void put(int key, int value) {
+        checkKey(key);
+        int i = slot(key);
+        if (keys[i] != key) {
+            keys[i] = key;
+            size++;
+        }
+        values[i] = value;
+        if (size > keys.length * LOAD_FACTOR) rehash(keys.length * 2);
+    }
+
+    /**
+     * Associates value with key only if the key is absent.
+     * @return true if the entry was inserted
+     */
+    public boolean putIfAbsent(int key, int value) {
+        checkKey(key);
+        int i = slot(key);
+        if (keys[i] == key) return false;
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        if (size > keys.length * LOAD_FACTOR) rehash(keys.length * 2);
+        return true;
+    }
+
+    /**
+     * Removes key if present.
+     * @return true if an entry was removed
+     */
+    public boolean remove(int key) {
+        if (key < 0) return false;
+        int i = slot(key);
+        if (keys[i] != key) return false;
+
+        // Shift later entries of the probe run back into the hole
+        int hole = i;
+        for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Calls the action for every entry, in unspecified order.
+     * The map must not be modified during iteration.
+     */
+    public void forEach(EntryConsumer action) {
+        int[] k = keys;
+        int[] v = values;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != EMPTY) action.accept(k[i], v[i]);
+        }
+    }
+
+    /** Slot holding key, or the empty slot where it would be inserted */
+    private int slot(int key) {
+        int i = mix(key) & mask;
+        while (keys[i] != EMPTY && keys[i] != key) i = (i + 1) & mask;
+        return i;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static void checkKey(int key) {
+        if (key < 0) throw new IllegalArgumentException("negative key: " + key);
+    }
+}
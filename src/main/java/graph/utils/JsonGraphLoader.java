@@ -36,10 +36,10 @@ public class JsonGraphLoader {
     public LoadedGraph load(String path) {
         try {
             GraphJson json = mapper.readValue(Paths.get(path).toFile(), GraphJson.class);
-            Graph graph = new Graph(json.n);
+            Graph graph = new Graph(json.n, json.edges.size());
 
             for (GraphJson.EdgeJson e : json.edges) {
-                graph.addEdge(graph.getVertex(e.u), graph.getVertex(e.v), e.w);
+                graph.addEdge(e.u, e.v, e.w);
             }
 
             return new LoadedGraph(graph, json.source, json.weightModel);
@@ -0,0 +1,100 @@
+package graph.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import graph.models.Graph;
+import graph.models.LoadedGraph;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Loads directed graphs from the same JSON format as JsonGraphLoader, reading tokens
+ * with Jackson's streaming JsonParser instead of data-binding the whole file.
+ * Edges go straight into primitive int arrays that become the graph's edge buffer,
+ * so no object is created per edge and no edge is copied twice. Top-level fields may
+ * appear in any order; in particular "edges" may come before "n". Unknown fields are skipped.
+ */
+public class JsonGraphStreamLoader {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final int INITIAL_EDGE_CAPACITY = 1 << 10;
+
+    /**
+     * Loads a graph from a given JSON file path.
+     * @param path path to the JSON file describing the graph
+     * @return a LoadedGraph object containing the graph, source node, and weight model
+     * @throws RuntimeException if the file cannot be read or parsed
+     */
+    public LoadedGraph load(String path) {
+        try (JsonParser parser = FACTORY.createParser(Paths.get(path).toFile())) {
+            return read(parser);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load: " + path, e);
+        }
+    }
+
+    private LoadedGraph read(JsonParser parser) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+        int n = -1;
+        int source = 0;
+        String weightModel = null;
+        int[] from = new int[INITIAL_EDGE_CAPACITY];
+        int[] to = new int[INITIAL_EDGE_CAPACITY];
+        int[] weight = new int[INITIAL_EDGE_CAPACITY];
+        int m = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "n" -> n = parser.getIntValue();
+                case "source" -> source = parser.getIntValue();
+                case "weight_model" -> weightModel = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                case "edges" -> {
+                    if (value == JsonToken.VALUE_NULL) break;
+                    expect(value, JsonToken.START_ARRAY, parser);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (m == from.length) {
+                            from = Arrays.copyOf(from, m * 2);
+                            to = Arrays.copyOf(to, m * 2);
+                            weight = Arrays.copyOf(weight, m * 2);
+                        }
+                        readEdge(parser, from, to, weight, m++);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (n < 0) throw new IOException("missing or negative \"n\"");
+
+        Graph graph = Graph.fromEdges(n, from, to, weight, m);
+        return new LoadedGraph(graph, source, weightModel);
+    }
+
+    /** Reads one {"u": .., "v": .., "w": ..} object; missing fields default to 0 */
+    private static void readEdge(JsonParser parser, int[] from, int[] to, int[] weight, int e) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        int u = 0, v = 0, w = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "u" -> u = parser.getIntValue();
+                case "v" -> v = parser.getIntValue();
+                case "w" -> w = parser.getIntValue();
+                default -> parser.skipChildren();
+            }
+        }
+        from[e] = u;
+        to[e] = v;
+        weight[e] = w;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException {
+        if (actual != expected) {
+            throw new IOException("expected " + expected + " but found " + actual + " at " + parser.currentLocation());
+        }
+    }
+}
@@ -10,21 +10,34 @@ public class Metrics {
     private long edgeTraversals = 0;
     private long relaxations = 0;
     private long queueOps = 0;
+    private long cacheHits = 0;
+    private long cacheMisses = 0;
     private long startNs = 0;
 
 
     public void incrementDfsVisits() { dfsVisits++; }
+    public void incrementDfsVisits(long count) { dfsVisits += count; }
     public void incrementEdgeTraversals() { edgeTraversals++; }
+    public void incrementEdgeTraversals(long count) { edgeTraversals += count; }
     public void incrementRelaxations() { relaxations++; }
     public void incrementRelaxations(long count) { relaxations += count; }
     public void incrementQueueOperations() { queueOps++; }
+    public void incrementQueueOperations(long count) { queueOps += count; }
+    public void incrementCacheHits() { cacheHits++; }
+    public void incrementCacheMisses() { cacheMisses++; }
     public void startTimer() { startNs = System.nanoTime(); }
     public double getElapsedMs() { return (System.nanoTime() - startNs) / 1e6; }
     public long getRelaxationsCount() { return relaxations; }
+    public long getDfsVisitsCount() { return dfsVisits; }
+    public long getEdgeTraversalsCount() { return edgeTraversals; }
+    public long getCacheHits() { return cacheHits; }
+    public long getCacheMisses() { return cacheMisses; }
 
     @Override
     public String toString() {
-        return String.format("visits=%d, edges=%d, relax=%d, queue=%d, time=%.3fms",
-                dfsVisits, edgeTraversals, relaxations, queueOps, getElapsedMs());
+        String counts = String.format("visits=%d, edges=%d, relax=%d, queue=%d, ",
+                dfsVisits, edgeTraversals, relaxations, queueOps);
+        if (cacheHits + cacheMisses > 0) counts += String.format("cache=%d/%d, ", cacheHits, cacheHits + cacheMisses);
+        return counts + String.format("time=%.3fms", getElapsedMs());
     }
 }
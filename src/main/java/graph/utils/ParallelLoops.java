@@ -0,0 +1,91 @@
+package graph.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Fork/join helpers for running an int-indexed loop body across a ForkJoinPool.
+ * Ranges are split in halves until they are no larger than the grain size,
+ * and ranges below the grain size run inline on the calling thread.
+ */
+public final class ParallelLoops {
+
+    private ParallelLoops() {}
+
+    /** Receives one contiguous range of indices */
+    @FunctionalInterface
+    public interface RangeBody {
+        /**
+         * @param from first index, inclusive
+         * @param to   last index, exclusive
+         */
+        void accept(int from, int to);
+    }
+
+    /**
+     * Runs body for every index in [from, to) using the given pool.
+     * Safe to call from inside a task of the same pool.
+     *
+     * @param pool  pool that executes the split ranges
+     * @param from  first index, inclusive
+     * @param to    last index, exclusive
+     * @param grain largest range handled by a single task
+     * @param body  loop body receiving the index
+     */
+    public static void forRange(ForkJoinPool pool, int from, int to, int grain, IntConsumer body) {
+        forEachRange(pool, from, to, grain, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) body.accept(i);
+        });
+    }
+
+    /**
+     * Splits [from, to) into ranges no larger than the grain size and runs body once per
+     * range, so per-task state such as a reusable edge consumer is set up once per range
+     * rather than once per index. Safe to call from inside a task of the same pool.
+     *
+     * @param pool  pool that executes the split ranges
+     * @param from  first index, inclusive
+     * @param to    last index, exclusive
+     * @param grain largest range handled by a single task
+     * @param body  body receiving each range
+     */
+    public static void forEachRange(ForkJoinPool pool, int from, int to, int grain, RangeBody body) {
+        if (to - from <= grain) {
+            if (from < to) body.accept(from, to);
+            return;
+        }
+        RangeTask task = new RangeTask(from, to, Math.max(grain, 1), body);
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    @SuppressWarnings("serial") // tasks are never serialized
+    private static final class RangeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeBody body;
+
+        RangeTask(int from, int to, int grain, RangeBody body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                body.accept(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, grain, body), new RangeTask(mid, to, grain, body));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.models.CompressedGraph;
+import graph.models.Digraph;
+import graph.models.Graph;
+import graph.scc.SCCTarjan;
+import graph.topo.TopologicalSort;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressedGraphTest {
+
+    @Test
+    void testEdgesSurviveAllWeightModes() {
+        int[][] weightRanges = {{7, 7}, {0, 100}, {-50, 50}, {Integer.MIN_VALUE, Integer.MAX_VALUE}};
+        for (int[] range : weightRanges) {
+            Random rnd = new Random(range[0]);
+            int n = 300;
+            Graph g = new Graph(n);
+            for (int i = 0; i < 1500; i++) {
+                long w = range[0] + (long) (rnd.nextDouble() * ((long) range[1] - range[0]));
+                g.addEdge(rnd.nextInt(n), rnd.nextInt(n), (int) w);
+            }
+            // Parallel edges in both orders and an isolated-looking high vertex
+            g.addEdge(3, 5, range[0]);
+            g.addEdge(3, 5, range[1]);
+            g.addEdge(n - 1, 0, range[1]);
+
+            CompressedGraph c = CompressedGraph.of(g);
+            assertEquals(g.getVertexCount(), c.getVertexCount());
+            assertEquals(g.getEdgeCount(), c.getEdgeCount());
+            for (int u = 0; u < n; u++) {
+                assertEquals(g.getOutDegree(u), c.getOutDegree(u));
+                assertEquals(g.getInDegree(u), c.getInDegree(u));
+                assertEquals(sortedEdges(g, u, false), edges(c, u, false));
+                assertEquals(sortedEdges(g, u, true), edges(c, u, true));
+            }
+        }
+    }
+
+    @Test
+    void testAlgorithmsAgreeWithUncompressed() {
+        Random rnd = new Random(21);
+        int n = 3000;
+        Graph dag = new Graph(n);
+        for (int i = 0; i < 12_000; i++) {
+            int u = rnd.nextInt(n - 1);
+            dag.addEdge(u, u + 1 + rnd.nextInt(Math.min(50, n - u - 1)), 1 + rnd.nextInt(20));
+        }
+        CompressedGraph c = CompressedGraph.of(dag);
+
+        assertEquals(n, new SCCTarjan().findSCCs(c, new Metrics()).size());
+        List<Integer> order = new TopologicalSort().sort(c, new Metrics());
+        assertEquals(n, order.size());
+        DagShortestPath sp = new DagShortestPath();
+        assertArrayEquals(sp.compute(dag, 0, order, new Metrics()).getDistances(),
+                sp.compute(c, 0, order, new Metrics()).getDistances());
+
+        // Short gaps and small weights take one byte each; offsets stay 4 bytes per vertex
+        long uncompressed = 4L * (2 * (n + 1) + 4L * dag.getEdgeCount());
+        assertTrue(c.getByteSize() * 2 < uncompressed, c.getByteSize() + " vs " + uncompressed);
+    }
+
+    private static List<List<Integer>> edges(Digraph g, int vertex, boolean incoming) {
+        List<List<Integer>> edges = new ArrayList<>();
+        if (incoming) {
+            g.forEachIn(vertex, (from, to, w) -> edges.add(List.of(from, to, w)));
+        } else {
+            g.forEachOut(vertex, (from, to, w) -> edges.add(List.of(from, to, w)));
+        }
+        return edges;
+    }
+
+    /** Insertion-order edges sorted stably by neighbor, the order CompressedGraph promises */
+    private static List<List<Integer>> sortedEdges(Graph g, int vertex, boolean incoming) {
+        List<List<Integer>> edges = edges(g, vertex, incoming);
+        edges.sort(Comparator.comparing(e -> incoming ? e.get(0) : e.get(1)));
+        return edges;
+    }
+}
@@ -3,11 +3,14 @@ package graph;
 import graph.models.Graph;
 import graph.scc.CondensationBuilder;
 import graph.scc.CondensationResult;
+import graph.utils.Metrics;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CondensationBuilderTest {
     @Test
@@ -54,4 +57,56 @@ public class CondensationBuilderTest {
         assertEquals(List.of(3), result.getOriginalVertices(2));
     }
 
+    @Test
+    void testParallelEdgesAreDeduplicated() {
+        // {0,1} and {2,3} are cycles; three edges cross from the first to the second
+        Graph g = new Graph(5);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 2, 1);
+        g.addEdge(1, 2, 9);
+        g.addEdge(0, 3, 4);
+        g.addEdge(1, 3, 7);
+        g.addEdge(3, 4, 2);
+
+        List<List<Integer>> sccs = List.of(List.of(4), List.of(3, 2), List.of(1, 0));
+        CondensationResult result = CondensationBuilder.build(g, sccs);
+        Graph dag = result.getDag();
+
+        assertEquals(3, dag.getVertexCount());
+        assertEquals(2, dag.getEdgeCount());
+        // First crossing edge in vertex order is 0 -> 3 with weight 4
+        assertEquals(1, dag.getOutDegree(2));
+        dag.forEachOut(2, (u, v, w) -> {
+            assertEquals(1, v);
+            assertEquals(4, w);
+        });
+        dag.forEachOut(1, (u, v, w) -> assertEquals(0, v));
+        assertEquals(1, result.getSuperId(2));
+        assertEquals(2, result.getComponentSize(1));
+        assertEquals(Map.of(0, 2, 1, 2, 2, 1, 3, 1, 4, 0), result.getMapping());
+    }
+
+    @Test
+    void testBuildTopologicalNumbersComponentsInOrder() {
+        // 3 -> {0,1} -> 2, with 0 <-> 1 a cycle
+        Graph g = new Graph(4);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        g.addEdge(1, 2, 5);
+        g.addEdge(3, 0, 2);
+
+        CondensationResult result = CondensationBuilder.buildTopological(g, new Metrics());
+        Graph dag = result.getDag();
+
+        assertEquals(3, dag.getVertexCount());
+        assertEquals(List.of(0, 1, 2), result.getTopologicalOrder());
+        for (int c = 0; c < dag.getVertexCount(); c++) {
+            dag.forEachOut(c, (u, v, w) -> assertTrue(u < v));
+        }
+        assertEquals(0, result.getSuperId(3));
+        assertEquals(result.getSuperId(0), result.getSuperId(1));
+        assertEquals(2, result.getSuperId(2));
+    }
 }
@@ -0,0 +1,62 @@
+package graph;
+
+import graph.dagsp.DagBatchPaths;
+import graph.dagsp.DagLongestPath;
+import graph.dagsp.DagShortestPath;
+import graph.models.Graph;
+import graph.topo.TopologicalSort;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DagBatchPathsTest {
+
+    @Test
+    void testTwoSourcesOnDiamond() {
+        // 0 -1-> 1 -2-> 3, 0 -5-> 2 -1-> 3
+        Graph g = new Graph(4);
+        g.addEdge(0, 1, 1);
+        g.addEdge(0, 2, 5);
+        g.addEdge(1, 3, 2);
+        g.addEdge(2, 3, 1);
+        List<Integer> topo = new TopologicalSort().sort(g, new Metrics());
+
+        DagBatchPaths batch = new DagBatchPaths();
+        DagBatchPaths.Result sp = batch.shortest(g, new int[]{0, 2}, topo, new Metrics());
+        assertArrayEquals(new int[]{0, 1, 5, 3}, sp.getDistances(0));
+        assertEquals(Integer.MAX_VALUE, sp.getDistance(1, 0));
+        assertEquals(1, sp.getDistance(1, 3));
+
+        DagBatchPaths.Result lp = batch.longest(g, new int[]{0, 2}, topo, new Metrics());
+        assertEquals(6, lp.getDistance(0, 3));
+        assertEquals(Integer.MIN_VALUE, lp.getDistance(1, 1));
+    }
+
+    @Test
+    void testMatchesSingleSourceRuns() {
+        Random rnd = new Random(3);
+        int n = 500;
+        Graph g = new Graph(n);
+        for (int i = 0; i < 2500; i++) {
+            int u = rnd.nextInt(n - 1);
+            g.addEdge(u, u + 1 + rnd.nextInt(n - u - 1), rnd.nextInt(20));
+        }
+        List<Integer> topo = new TopologicalSort().sort(g, new Metrics());
+        int[] sources = new int[17];
+        for (int i = 0; i < sources.length; i++) sources[i] = rnd.nextInt(n);
+
+        DagBatchPaths.Result sp = new DagBatchPaths().shortest(g, sources, topo, new Metrics());
+        DagBatchPaths.Result lp = new DagBatchPaths().longest(g, sources, topo, new Metrics());
+        for (int lane = 0; lane < sources.length; lane++) {
+            int[] expected = new DagShortestPath().compute(g, sources[lane], topo, new Metrics()).getDistances();
+            assertArrayEquals(expected, sp.getDistances(lane));
+            int[] longest = new DagLongestPath().analyze(g, sources[lane], topo, new Metrics()).getDistances();
+            assertArrayEquals(longest, lp.getDistances(lane));
+        }
+    }
+}
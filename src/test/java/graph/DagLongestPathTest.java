@@ -2,10 +2,18 @@ package graph;
 
 import graph.dagsp.DagLongestPath;
 import graph.models.Graph;
+import graph.topo.ParallelTopologicalSort;
+import graph.topo.TopologicalLevels;
 import graph.utils.Metrics;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DagLongestPathTest {
@@ -78,4 +86,72 @@ public class DagLongestPathTest {
         assertTrue(metrics.getElapsedMs() >= 0);
     }
 
+    @Test
+    void testCriticalPathAnalysis() {
+        // 0 -1-> 1 -2-> 3
+        // 0 -5-> 2 -1-> 3
+        //        2 -0-> 4, 5 unreachable
+        Graph g = new Graph(6);
+        g.addEdge(0, 1, 1);
+        g.addEdge(0, 2, 5);
+        g.addEdge(1, 3, 2);
+        g.addEdge(2, 3, 1);
+        g.addEdge(2, 4, 0);
+        g.addEdge(5, 3, 9);
+
+        DagLongestPath.Result r = new DagLongestPath().analyze(g, 0, new Metrics());
+
+        assertEquals(6, r.getLength());
+        assertEquals(3, r.getTarget());
+        assertEquals(List.of(0, 2, 3), r.getCriticalPath());
+        assertEquals(1, r.getEarliestStart(1));
+        assertEquals(4, r.getLatestStart(1));
+        assertEquals(3, r.getSlack(1));
+        assertEquals(0, r.getSlack(2));
+        assertEquals(0, r.getSlack(3));
+        assertEquals(6, r.getLatestStart(4));
+        assertEquals(1, r.getSlack(4));
+        assertTrue(r.isCritical(0));
+        assertFalse(r.isCritical(4));
+        assertFalse(r.isReachable(5));
+        assertEquals(Integer.MAX_VALUE, r.getSlack(5));
+    }
+
+    @Test
+    void testShortcutsMatchAnalysis() {
+        Graph g = new Graph(4);
+        g.addEdge(0, 1, 2);
+        g.addEdge(1, 2, 2);
+        g.addEdge(0, 3, 1);
+
+        DagLongestPath lp = new DagLongestPath();
+        assertEquals(4, lp.compute(g, 0, new Metrics()));
+        assertEquals(List.of(0, 1, 2), lp.reconstructLongestPath(g, 0, new Metrics()));
+        assertEquals(List.of(0), lp.reconstructLongestPath(new Graph(1), 0, new Metrics()));
+    }
+
+    @Test
+    void testParallelAnalysisMatchesSequential() {
+        Random rnd = new Random(13);
+        int n = 5000;
+        Graph g = new Graph(n);
+        for (int i = 0; i < 30_000; i++) {
+            int u = rnd.nextInt(n - 1);
+            g.addEdge(u, u + 1 + rnd.nextInt(Math.min(40, n - u - 1)), rnd.nextInt(30));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TopologicalLevels levels = new ParallelTopologicalSort(pool).sort(g, new Metrics());
+            DagLongestPath lp = new DagLongestPath();
+            DagLongestPath.Result seq = lp.analyze(g, 3, levels.getOrder(), new Metrics());
+            DagLongestPath.Result par = lp.analyzeParallel(g, 3, levels, pool, new Metrics());
+
+            assertEquals(seq.getLength(), par.getLength());
+            assertArrayEquals(seq.getDistances(), par.getDistances());
+            assertArrayEquals(seq.getLatestStarts(), par.getLatestStarts());
+            assertEquals(par.getLength(), par.getDistances()[par.getTarget()]);
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -2,13 +2,23 @@ package graph;
 
 import graph.dagsp.DagShortestPath;
 import graph.models.Graph;
+import graph.topo.DynamicTopologicalOrder;
+import graph.topo.ParallelTopologicalSort;
+import graph.topo.TopologicalLevels;
 import graph.topo.TopologicalSort;
+import graph.utils.Deadline;
 import graph.utils.Metrics;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DagShortestPathTest {
@@ -96,4 +106,202 @@ public class DagShortestPathTest {
         assertTrue(metrics.getRelaxationsCount() > 0);
         assertTrue(metrics.getElapsedMs() >= 0);
     }
+
+    @Test
+    void testParallelMatchesSequential() {
+        Random rnd = new Random(9);
+        int n = 5000;
+        Graph g = new Graph(n);
+        for (int i = 0; i < 30_000; i++) {
+            int u = rnd.nextInt(n - 1);
+            g.addEdge(u, u + 1 + rnd.nextInt(Math.min(40, n - u - 1)), rnd.nextInt(30));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TopologicalLevels levels = new ParallelTopologicalSort(pool).sort(g, new Metrics());
+            for (int source : new int[]{0, 17, 2500}) {
+                DagShortestPath.Result seq = new DagShortestPath().compute(g, source, levels.getOrder(), new Metrics());
+                DagShortestPath.Result par = new DagShortestPath().computeParallel(g, source, levels, pool, new Metrics());
+                assertArrayEquals(seq.getDistances(), par.getDistances());
+
+                // Predecessors may differ on ties but must lie on a shortest path
+                int[] dist = par.getDistances();
+                for (int v = 0; v < n; v++) {
+                    int p = par.getPredecessors()[v];
+                    if (p != -1) assertTrue(dist[p] < Integer.MAX_VALUE);
+                }
+                assertEquals(dist[n - 1] == Integer.MAX_VALUE, par.reconstructPath(source, n - 1).isEmpty());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testComputeFromSourceMatchesFullComputation() {
+        Random rnd = new Random(21);
+        int n = 3000;
+        Graph g = new Graph(n);
+        for (int i = 0; i < 9000; i++) {
+            int u = rnd.nextInt(n - 1);
+            g.addEdge(u, u + 1 + rnd.nextInt(Math.min(20, n - u - 1)), rnd.nextInt(15));
+        }
+        List<Integer> topoOrder = new TopologicalSort().sort(g, new Metrics());
+        DagShortestPath sp = new DagShortestPath();
+
+        for (int source : new int[]{0, 1500, 2990, n - 1}) {
+            int[] full = sp.compute(g, source, topoOrder, new Metrics()).getDistances();
+            DagShortestPath.SparseResult cone = sp.computeFromSource(g, source, new Metrics());
+            int reachable = 0;
+            for (int v = 0; v < n; v++) {
+                assertEquals(full[v], cone.getDistance(v));
+                if (full[v] != Integer.MAX_VALUE) reachable++;
+            }
+            assertEquals(reachable, cone.getReachableCount());
+            assertEquals(source, cone.getReachableVertices().get(0));
+        }
+        assertEquals(Integer.MAX_VALUE, sp.computeFromSource(g, 5, new Metrics()).getDistance(-1));
+    }
+
+    @Test
+    void testComputeFromSourcePath() {
+        // 0 -1-> 1 -1-> 3, 0 -5-> 3, 2 -> 3 outside the cone
+        Graph g = new Graph(4);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 3, 1);
+        g.addEdge(0, 3, 5);
+        g.addEdge(2, 3, 1);
+
+        DagShortestPath.SparseResult result = new DagShortestPath().computeFromSource(g, 0, new Metrics());
+        assertEquals(3, result.getReachableCount());
+        assertEquals(List.of(0, 1, 3), result.reconstructPath(3));
+        assertTrue(result.reconstructPath(2).isEmpty());
+    }
+
+    @Test
+    void testRepairAfterEdgeChanges() {
+        Random rnd = new Random(31);
+        int n = 400;
+        Graph g = new Graph(n);
+        for (int i = 0; i < 1500; i++) {
+            int u = rnd.nextInt(n - 1);
+            g.addEdge(u, u + 1 + rnd.nextInt(Math.min(30, n - u - 1)), 1 + rnd.nextInt(20));
+        }
+        DynamicTopologicalOrder dag = new DynamicTopologicalOrder(g, new Metrics());
+        DagShortestPath sp = new DagShortestPath();
+        DagShortestPath.Result result = sp.compute(dag, 0, dag.getTopologicalOrder(), new Metrics());
+
+        for (int step = 0; step < 300; step++) {
+            int u = rnd.nextInt(n - 1);
+            int v = u + 1 + rnd.nextInt(n - u - 1);
+            if (dag.hasEdge(u, v) && rnd.nextBoolean()) {
+                dag.deleteEdge(u, v);
+            } else {
+                // Inserts a new edge or changes the weight of an existing one
+                dag.insertEdge(u, v, 1 + rnd.nextInt(20));
+            }
+            result = result.repair(dag, v, new Metrics());
+
+            int[] expected = sp.compute(dag, 0, dag.getTopologicalOrder(), new Metrics()).getDistances();
+            assertArrayEquals(expected, result.getDistances());
+        }
+        int[] dist = result.getDistances();
+        for (int v = 1; v < n; v++) {
+            int p = result.getPredecessors()[v];
+            if (dist[v] == Integer.MAX_VALUE) assertEquals(-1, p);
+            else assertTrue(dag.hasEdge(p, v) && dist[p] < Integer.MAX_VALUE);
+        }
+    }
+
+    @Test
+    void testRepairStopsWhenDistanceUnchanged() {
+        // 0 -1-> 1 -1-> 2; adding 0 -5-> 2 changes nothing
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        List<Integer> order = new TopologicalSort().sort(g, new Metrics());
+        DagShortestPath.Result result = new DagShortestPath().compute(g, 0, order, new Metrics());
+
+        g.addEdge(0, 2, 5);
+        assertSame(result, result.repair(g, order::indexOf, 2, new Metrics()));
+        g.addEdge(0, 1, 0);
+        DagShortestPath.Result repaired = result.repair(g, order::indexOf, 1, new Metrics());
+        assertArrayEquals(new int[]{0, 0, 1}, repaired.getDistances());
+        // The original result may be shared, e.g. by PathQueryCache, and stays as it was
+        assertArrayEquals(new int[]{0, 1, 2}, result.getDistances());
+    }
+
+    @Test
+    void testRepairRejectsIncompleteResult() {
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        List<Integer> order = new TopologicalSort().sort(g, new Metrics());
+        Deadline deadline = Deadline.none();
+        deadline.cancel();
+        DagShortestPath.Result result = new DagShortestPath().compute(g, 0, order, new Metrics(), deadline);
+
+        assertFalse(result.isComplete());
+        assertThrows(IllegalStateException.class, () -> result.repair(g, order::indexOf, 2, new Metrics()));
+    }
+
+    @Test
+    void testPointToPointMatchesFullComputation() {
+        Random rnd = new Random(45);
+        int n = 2000;
+        Graph g = new Graph(n);
+        for (int i = 0; i < 6000; i++) {
+            int u = rnd.nextInt(n - 1);
+            g.addEdge(u, u + 1 + rnd.nextInt(Math.min(25, n - u - 1)), rnd.nextInt(15));
+        }
+        List<Integer> topoOrder = new TopologicalSort().sort(g, new Metrics());
+        DagShortestPath sp = new DagShortestPath();
+
+        for (int q = 0; q < 50; q++) {
+            int source = rnd.nextInt(n);
+            int target = rnd.nextInt(n);
+            DagShortestPath.Result full = sp.compute(g, source, topoOrder, new Metrics());
+            DagShortestPath.SparseResult p2p = sp.compute(g, source, target, new Metrics());
+
+            assertEquals(full.getDistances()[target], p2p.getDistance(target));
+            List<Integer> path = p2p.reconstructPath(target);
+            assertEquals(full.reconstructPath(source, target).isEmpty(), path.isEmpty());
+            if (!path.isEmpty()) {
+                assertEquals(source, path.get(0));
+                assertEquals(target, path.get(path.size() - 1));
+            }
+        }
+    }
+
+    @Test
+    void testPointToPointSkipsSideBranches() {
+        // 0 -> 1 -> 2 is the only corridor; 1 -> 3 -> 4 and 5 -> 2 are outside it
+        Graph g = new Graph(6);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(1, 3, 1);
+        g.addEdge(3, 4, 1);
+        g.addEdge(5, 2, 1);
+
+        DagShortestPath.SparseResult result = new DagShortestPath().compute(g, 0, 2, new Metrics());
+        assertEquals(List.of(0, 1, 2), result.reconstructPath(2));
+        assertEquals(3, result.getReachableCount());
+        assertTrue(new DagShortestPath().compute(g, 2, 0, new Metrics()).reconstructPath(0).isEmpty());
+    }
+
+    @Test
+    void testPointToPointIgnoresAncestorsOutsideForwardCone() {
+        // 0 -> 1 -> 2, plus a long chain 3 -> 4 -> ... -> 2 the source never reaches
+        int n = 1000;
+        Graph g = new Graph(n);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        for (int v = 3; v < n - 1; v++) g.addEdge(v, v + 1, 1);
+        g.addEdge(n - 1, 2, 1);
+
+        Metrics metrics = new Metrics();
+        DagShortestPath.SparseResult result = new DagShortestPath().compute(g, 0, 2, metrics);
+        assertEquals(List.of(0, 1, 2), result.reconstructPath(2));
+        assertTrue(metrics.getDfsVisitsCount() < 10, "visited " + metrics.getDfsVisitsCount());
+    }
 }
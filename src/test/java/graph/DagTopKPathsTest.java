@@ -0,0 +1,108 @@
+package graph;
+
+import graph.dagsp.DagLongestPath;
+import graph.dagsp.DagTopKPaths;
+import graph.models.Graph;
+import graph.scc.CondensationBuilder;
+import graph.scc.CondensationResult;
+import graph.topo.TopologicalSort;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DagTopKPathsTest {
+
+    @Test
+    void testDiamondPaths() {
+        // 0 -1-> 1 -2-> 3, 0 -5-> 2 -1-> 3, 2 -0-> 4
+        Graph g = new Graph(5);
+        g.addEdge(0, 1, 1);
+        g.addEdge(0, 2, 5);
+        g.addEdge(1, 3, 2);
+        g.addEdge(2, 3, 1);
+        g.addEdge(2, 4, 0);
+
+        DagTopKPaths.Result r = new DagTopKPaths()
+                .compute(g, 0, 5, new TopologicalSort().sort(g, new Metrics()), new Metrics());
+
+        assertEquals(3, r.getPathCount());
+        assertEquals(6, r.getLength(0));
+        assertEquals(List.of(0, 2, 3), r.getPath(0));
+        assertEquals(5, r.getLength(1));
+        assertEquals(List.of(0, 2, 4), r.getPath(1));
+        assertEquals(3, r.getLength(2));
+        assertEquals(List.of(0, 1, 3), r.getPath(2));
+    }
+
+    @Test
+    void testMatchesExhaustiveEnumeration() {
+        Random rnd = new Random(41);
+        int n = 30;
+        Graph g = new Graph(n);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 70; i++) {
+            int u = rnd.nextInt(n - 1);
+            int v = u + 1 + rnd.nextInt(n - u - 1);
+            if (seen.add((long) u * n + v)) g.addEdge(u, v, rnd.nextInt(10));
+        }
+        List<Integer> topo = new TopologicalSort().sort(g, new Metrics());
+
+        List<Integer> all = new ArrayList<>();
+        enumerate(g, 0, 0, all);
+        all.sort((a, b) -> b - a);
+
+        int k = 8;
+        DagTopKPaths.Result r = new DagTopKPaths().compute(g, 0, k, topo, new Metrics());
+        assertEquals(Math.min(k, all.size()), r.getPathCount());
+        for (int i = 0; i < r.getPathCount(); i++) {
+            assertEquals(all.get(i), r.getLength(i));
+            assertEquals(r.getLength(i), pathLength(g, r.getPath(i)));
+        }
+        assertEquals(new DagLongestPath().compute(g, 0, new Metrics()), r.getLength(0));
+    }
+
+    @Test
+    void testOriginalPathThroughCondensation() {
+        // {0, 1} cycle -> 2
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        g.addEdge(1, 2, 4);
+        CondensationResult c = CondensationBuilder.buildTopological(g, new Metrics());
+
+        DagTopKPaths.Result r = new DagTopKPaths()
+                .compute(c.getDag(), c.getSuperId(0), 2, c.getTopologicalOrder(), new Metrics());
+        assertEquals(1, r.getPathCount());
+        assertEquals(3, r.getOriginalPath(0, c).size());
+        assertEquals(2, r.getOriginalPath(0, c).get(2));
+    }
+
+    private static void enumerate(Graph g, int u, int length, List<Integer> out) {
+        if (g.getOutDegree(u) == 0) {
+            out.add(length);
+            return;
+        }
+        g.forEachOut(u, (a, b, w) -> enumerate(g, b, length + w, out));
+    }
+
+    private static int pathLength(Graph g, List<Integer> path) {
+        int total = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            int from = path.get(i);
+            int to = path.get(i + 1);
+            int[] weight = {0};
+            g.forEachOut(from, (a, b, w) -> {
+                if (b == to) weight[0] = w;
+            });
+            total += weight[0];
+        }
+        return total;
+    }
+}
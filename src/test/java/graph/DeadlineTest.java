@@ -0,0 +1,85 @@
+package graph;
+
+import graph.dagsp.DagLongestPath;
+import graph.dagsp.DagShortestPath;
+import graph.models.Graph;
+import graph.scc.SCCTarjan;
+import graph.topo.TopologicalSort;
+import graph.utils.Deadline;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeadlineTest {
+
+    private static Graph chain(int n) {
+        Graph g = new Graph(n);
+        for (int i = 0; i + 1 < n; i++) g.addEdge(i, i + 1, 1);
+        return g;
+    }
+
+    @Test
+    void testGenerousDeadlineCompletes() {
+        Graph g = chain(1000);
+        List<Integer> topo = new TopologicalSort().sort(g, new Metrics());
+        Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+
+        DagShortestPath.Result sp = new DagShortestPath().compute(g, 0, topo, new Metrics(), deadline);
+        assertTrue(sp.isComplete());
+        assertEquals(1000, sp.getSettledCount());
+        assertEquals(999, sp.getDistances()[999]);
+        assertFalse(deadline.isExpired());
+    }
+
+    @Test
+    void testExpiredDeadlineStopsShortestPath() {
+        Graph g = chain(1000);
+        List<Integer> topo = new TopologicalSort().sort(g, new Metrics());
+        Deadline deadline = Deadline.after(Duration.ZERO, 100);
+
+        DagShortestPath.Result sp = new DagShortestPath().compute(g, 0, topo, new Metrics(), deadline);
+        assertTrue(deadline.isExpired());
+        assertFalse(sp.isComplete());
+        assertTrue(sp.getSettledCount() < 1000);
+        assertEquals(Integer.MAX_VALUE, sp.getDistances()[999]);
+
+        // Settled vertices already have their final distances
+        for (int i = 0; i < sp.getSettledCount(); i++) assertEquals(topo.get(i), sp.getDistances()[topo.get(i)]);
+    }
+
+    @Test
+    void testCancelledAnalysisIsIncomplete() {
+        Graph g = chain(1000);
+        List<Integer> topo = new TopologicalSort().sort(g, new Metrics());
+        Deadline deadline = Deadline.none();
+        deadline.cancel();
+
+        DagLongestPath.Result lp = new DagLongestPath().analyze(g, 0, topo, new Metrics(), deadline);
+        assertFalse(lp.isComplete());
+        assertTrue(lp.getLength() < 999);
+    }
+
+    @Test
+    void testExpiredDeadlineStopsTarjan() {
+        // 1000 two-vertex cycles in a row
+        int n = 2000;
+        Graph g = new Graph(n);
+        for (int i = 0; i < n; i += 2) {
+            g.addEdge(i, i + 1, 1);
+            g.addEdge(i + 1, i, 1);
+            if (i + 2 < n) g.addEdge(i + 1, i + 2, 1);
+        }
+        Deadline deadline = Deadline.after(Duration.ZERO, 500);
+
+        List<List<Integer>> sccs = new SCCTarjan().findSCCs(g, new Metrics(), deadline);
+        assertTrue(deadline.isExpired());
+        assertTrue(sccs.size() < 1000);
+        for (List<Integer> comp : sccs) assertEquals(2, comp.size());
+    }
+}
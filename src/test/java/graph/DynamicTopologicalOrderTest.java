@@ -0,0 +1,126 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.models.Graph;
+import graph.topo.DynamicTopologicalOrder;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DynamicTopologicalOrderTest {
+
+    @Test
+    void testBackwardEdgeReordersWindow() {
+        // 0 -> 1, 2 -> 3; insert 3 -> 0 so the chain 2 -> 3 must move ahead of 0 -> 1
+        Graph g = new Graph(4);
+        g.addEdge(0, 1, 1);
+        g.addEdge(2, 3, 1);
+        DynamicTopologicalOrder dto = new DynamicTopologicalOrder(g, new Metrics());
+
+        assertTrue(dto.insertEdge(3, 0, 2));
+        assertEquals(3, dto.getEdgeCount());
+        assertValidOrder(dto);
+        assertTrue(dto.getPosition(3) < dto.getPosition(0));
+    }
+
+    @Test
+    void testCycleIsRejected() {
+        // 0 -> 1 -> 2; 2 -> 0 would close a cycle
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        DynamicTopologicalOrder dto = new DynamicTopologicalOrder(g, new Metrics());
+
+        assertFalse(dto.insertEdge(2, 0, 1));
+        assertFalse(dto.insertEdge(1, 1, 1));
+        assertFalse(dto.hasEdge(2, 0));
+        assertEquals(2, dto.getEdgeCount());
+
+        // After deleting 1 -> 2 the same edge becomes legal
+        assertTrue(dto.deleteEdge(1, 2));
+        assertFalse(dto.deleteEdge(1, 2));
+        assertTrue(dto.insertEdge(2, 0, 1));
+        assertValidOrder(dto);
+    }
+
+    @Test
+    void testCyclicInputIsRejected() {
+        Graph g = new Graph(2);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        assertThrows(IllegalArgumentException.class, () -> new DynamicTopologicalOrder(g, new Metrics()));
+    }
+
+    @Test
+    void testOrderFeedsShortestPath() {
+        // 0 -> 1 (5), then 0 -> 2 (1) and 2 -> 1 (1) inserted later
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 5);
+        g.addEdge(1, 2, 1);
+        DynamicTopologicalOrder dto = new DynamicTopologicalOrder(g, new Metrics());
+        dto.deleteEdge(1, 2);
+        assertTrue(dto.insertEdge(0, 2, 1));
+        assertTrue(dto.insertEdge(2, 1, 1));
+
+        DagShortestPath.Result result = new DagShortestPath().compute(dto, 0, dto.getTopologicalOrder(), new Metrics());
+        assertEquals(2, result.getDistances()[1]);
+        assertEquals(List.of(0, 2, 1), result.reconstructPath(0, 1));
+    }
+
+    @Test
+    void testRandomInsertionsKeepOrderValid() {
+        Random rnd = new Random(5);
+        int n = 300;
+        DynamicTopologicalOrder dto = new DynamicTopologicalOrder(new Graph(n), new Metrics());
+        boolean[][] reach = new boolean[n][n];
+        for (int v = 0; v < n; v++) reach[v][v] = true;
+
+        for (int i = 0; i < 2000; i++) {
+            int u = rnd.nextInt(n);
+            int v = rnd.nextInt(n);
+            boolean inserted = dto.insertEdge(u, v, 1);
+            // Rejected exactly when v already reaches u
+            assertEquals(!reach[v][u], inserted);
+            if (inserted) {
+                for (int a = 0; a < n; a++) {
+                    if (!reach[a][u]) continue;
+                    for (int b = 0; b < n; b++) if (reach[v][b]) reach[a][b] = true;
+                }
+            }
+        }
+        assertValidOrder(dto);
+    }
+
+    private static void assertValidOrder(DynamicTopologicalOrder dto) {
+        List<Integer> order = dto.getTopologicalOrder();
+        assertEquals(dto.getVertexCount(), order.size());
+        for (int i = 0; i < order.size(); i++) assertEquals(i, dto.getPosition(order.get(i)));
+        for (int u = 0; u < dto.getVertexCount(); u++) {
+            dto.forEachOut(u, (a, b, w) -> assertTrue(dto.getPosition(a) < dto.getPosition(b), a + " -> " + b));
+        }
+    }
+
+    @Test
+    void testParallelEdgesKeepSmallestWeight() {
+        // 0 -> 1 twice, the later copy cheaper; 1 -> 2 twice, the earlier copy cheaper
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 7);
+        g.addEdge(0, 1, 2);
+        g.addEdge(1, 2, 1);
+        g.addEdge(1, 2, 4);
+        DynamicTopologicalOrder dag = new DynamicTopologicalOrder(g, new Metrics());
+
+        assertEquals(2, dag.getEdgeCount());
+        DagShortestPath sp = new DagShortestPath();
+        assertArrayEquals(sp.compute(g, 0, dag.getTopologicalOrder(), new Metrics()).getDistances(),
+                sp.compute(dag, 0, dag.getTopologicalOrder(), new Metrics()).getDistances());
+    }
+}
@@ -0,0 +1,89 @@
+package graph;
+
+import graph.models.Graph;
+import graph.models.LoadedGraph;
+import graph.utils.EdgeListLoader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EdgeListLoaderTest {
+
+    @Test
+    void testParsesCommentsDefaultsAndLineEndings() throws Exception {
+        String text = "# exported edges\n0 1 5\r\n\n1\t2\n% other comment\n2 0 -3\n  3 1 7   \n1 2 4";
+        LoadedGraph loaded = load(text, new EdgeListLoader(), 3);
+
+        Graph expected = new Graph(4);
+        expected.addEdge(0, 1, 5);
+        expected.addEdge(1, 2, 1);
+        expected.addEdge(2, 0, -3);
+        expected.addEdge(3, 1, 7);
+        expected.addEdge(1, 2, 4);
+
+        assertEquals(3, loaded.getSource());
+        assertEquals("edge", loaded.getWeightModel());
+        assertSameCsr(expected, loaded.getGraph());
+    }
+
+    @Test
+    void testParallelChunksKeepFileOrder() throws Exception {
+        Random rnd = new Random(11);
+        int n = 20_000;
+        Graph expected = new Graph(n);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 400_000; i++) {
+            // Skewed sources give long adjacency lists that span many chunks
+            int u = rnd.nextInt(4) == 0 ? rnd.nextInt(8) : rnd.nextInt(n);
+            int v = rnd.nextInt(n);
+            int w = rnd.nextInt(1000);
+            expected.addEdge(u, v, w);
+            text.append(u).append(' ').append(v).append(' ').append(w).append('\n');
+        }
+        expected.addEdge(0, n - 1, 1);
+        text.append(0).append(' ').append(n - 1).append('\n');
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertSameCsr(expected, load(text.toString(), new EdgeListLoader(pool), 0).getGraph());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testMalformedLineFails() throws Exception {
+        assertThrows(RuntimeException.class, () -> load("0 1 2\n0 x 3\n", new EdgeListLoader(), 0));
+        assertThrows(RuntimeException.class, () -> load("0 1 2 9\n", new EdgeListLoader(), 0));
+        assertThrows(RuntimeException.class, () -> load("0 99999999999 1\n", new EdgeListLoader(), 0));
+    }
+
+    private static LoadedGraph load(String text, EdgeListLoader loader, int source) throws Exception {
+        Path file = Files.createTempFile("edges", ".txt");
+        try {
+            Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+            return loader.load(file.toString(), source);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void assertSameCsr(Graph expected, Graph actual) {
+        assertEquals(expected.getVertexCount(), actual.getVertexCount());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        assertArrayEquals(expected.getOutOffsets(), actual.getOutOffsets());
+        assertArrayEquals(expected.getOutTargets(), actual.getOutTargets());
+        assertArrayEquals(expected.getOutWeights(), actual.getOutWeights());
+        assertArrayEquals(expected.getInOffsets(), actual.getInOffsets());
+        assertArrayEquals(expected.getInSources(), actual.getInSources());
+        assertArrayEquals(expected.getInWeights(), actual.getInWeights());
+    }
+}
@@ -0,0 +1,145 @@
+package graph;
+
+import graph.models.Graph;
+import graph.models.LoadedGraph;
+import graph.scc.CondensationBuilder;
+import graph.scc.CondensationResult;
+import graph.utils.GraphSnapshot;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GraphSnapshotTest {
+
+    @Test
+    void testRoundTripWithCondensation() throws Exception {
+        Random rnd = new Random(8);
+        int n = 5000;
+        Graph g = new Graph(n);
+        for (int i = 0; i < 20_000; i++) g.addEdge(rnd.nextInt(n), rnd.nextInt(n), rnd.nextInt(100));
+        CondensationResult c = CondensationBuilder.buildTopological(g, new Metrics());
+
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            GraphSnapshot.write(file.toString(), new LoadedGraph(g, 7, "edge"), c);
+            GraphSnapshot snapshot = GraphSnapshot.read(file.toString());
+
+            Graph read = snapshot.getLoadedGraph().getGraph();
+            assertEquals(7, snapshot.getLoadedGraph().getSource());
+            assertEquals("edge", snapshot.getLoadedGraph().getWeightModel());
+            assertArrayEquals(g.getOutOffsets(), read.getOutOffsets());
+            assertArrayEquals(g.getOutTargets(), read.getOutTargets());
+            assertArrayEquals(g.getOutWeights(), read.getOutWeights());
+            assertArrayEquals(g.getInOffsets(), read.getInOffsets());
+            assertArrayEquals(g.getInSources(), read.getInSources());
+            assertTrue(snapshot.hasComponents());
+            assertEquals(c.getComponentCount(), snapshot.getComponentCount());
+            assertArrayEquals(c.getComponentOf(), snapshot.getComponentOf());
+            assertEquals(c.getTopologicalOrder(), snapshot.getTopologicalOrder());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testRoundTripWithoutOptionalSections() throws Exception {
+        Graph g = new Graph(3);
+        g.addEdge(0, 2, 4);
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            GraphSnapshot.write(file.toString(), new LoadedGraph(g, 0, null));
+            GraphSnapshot snapshot = GraphSnapshot.read(file.toString());
+
+            assertFalse(snapshot.hasComponents());
+            assertNull(snapshot.getTopologicalOrder());
+            assertNull(snapshot.getLoadedGraph().getWeightModel());
+            assertEquals(1, snapshot.getLoadedGraph().getGraph().getInDegree(2));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testRejectsForeignOrTruncatedFiles() throws Exception {
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            Files.write(file, new byte[64]);
+            assertThrows(RuntimeException.class, () -> GraphSnapshot.read(file.toString()));
+
+            Graph g = new Graph(100);
+            g.addEdge(0, 1, 1);
+            GraphSnapshot.write(file.toString(), new LoadedGraph(g, 0, "edge"));
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 8));
+            assertThrows(RuntimeException.class, () -> GraphSnapshot.read(file.toString()));
+
+            // Header (32 bytes), "edge" (4), offsets (101 ints), then the first target
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(36 + 4 * 101, 5000);
+            Files.write(file, bytes);
+            assertThrows(RuntimeException.class, () -> GraphSnapshot.read(file.toString()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testWritesCondensationWithShortMapping() throws Exception {
+        // A map-built condensation only sizes its mapping to the largest mapped vertex
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 1);
+        CondensationResult c = new CondensationResult(new Graph(2), Map.of(0, 0, 1, 1), List.of(List.of(0), List.of(1)));
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            GraphSnapshot.write(file.toString(), new LoadedGraph(g, 0, null), c);
+            assertArrayEquals(new int[]{0, 1, -1}, GraphSnapshot.read(file.toString()).getComponentOf());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testRejectsCorruptCondensationOrModelLength() throws Exception {
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 1);
+        CondensationResult c = CondensationBuilder.buildTopological(g, new Metrics());
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            GraphSnapshot.write(file.toString(), new LoadedGraph(g, 0, null), c);
+            byte[] bytes = Files.readAllBytes(file);
+            // Header (32 bytes), six edge sections (12 ints), component ids (3), order (3)
+            int componentAt = 32 + 4 * 12;
+            int orderAt = componentAt + 4 * 3;
+
+            assertRejected(file, bytes, componentAt + 4, 3);
+            assertRejected(file, bytes, componentAt, -2);
+            assertRejected(file, bytes, orderAt + 4, ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getInt(orderAt));
+            assertRejected(file, bytes, orderAt + 8, 3);
+            assertRejected(file, bytes, 28, Integer.MAX_VALUE);
+            assertRejected(file, bytes, 28, -2);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /** Writes a copy of the snapshot with one int replaced and expects read to fail */
+    private static void assertRejected(Path file, byte[] original, int offset, int value) throws Exception {
+        byte[] bytes = original.clone();
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(offset, value);
+        Files.write(file, bytes);
+        assertThrows(RuntimeException.class, () -> GraphSnapshot.read(file.toString()));
+    }
+}
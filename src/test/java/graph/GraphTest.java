@@ -0,0 +1,74 @@
+package graph;
+
+import graph.models.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class GraphTest {
+
+    @Test
+    void testForwardAndReverseCsr() {
+        // 0 -> 2, 0 -> 1, 1 -> 2
+        Graph g = new Graph(3);
+        g.addEdge(0, 2, 7);
+        g.addEdge(0, 1, 4);
+        g.addEdge(1, 2, 1);
+
+        assertEquals(3, g.getEdgeCount());
+        assertArrayEquals(new int[]{0, 2, 3, 3}, g.getOutOffsets());
+        assertArrayEquals(new int[]{2, 1, 2}, g.getOutTargets());
+        assertArrayEquals(new int[]{7, 4, 1}, g.getOutWeights());
+
+        assertArrayEquals(new int[]{0, 0, 1, 3}, g.getInOffsets());
+        assertArrayEquals(new int[]{0, 0, 1}, g.getInSources());
+        assertArrayEquals(new int[]{4, 7, 1}, g.getInWeights());
+    }
+
+    @Test
+    void testAddEdgeAfterTraversal() {
+        Graph g = new Graph(3);
+        g.addEdge(g.getVertex(0), g.getVertex(1), 1);
+        assertArrayEquals(new int[]{1}, g.getOutTargets());
+
+        g.addEdge(g.getVertex(1), g.getVertex(2), 2);
+        g.addEdge(g.getVertex(0), g.getVertex(2), 3);
+
+        assertEquals(3, g.getEdgeCount());
+        assertArrayEquals(new int[]{0, 2, 3, 3}, g.getOutOffsets());
+        assertArrayEquals(new int[]{1, 2, 2}, g.getOutTargets());
+        assertEquals(2, g.getOutgoing(g.getVertex(0)).size());
+        assertEquals(2, g.getIncoming(g.getVertex(2)).size());
+    }
+
+    @Test
+    void testForEachOutAndIn() {
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 5);
+        g.addEdge(0, 2, 6);
+        g.addEdge(1, 2, 7);
+
+        List<Integer> seen = new ArrayList<>();
+        g.forEachOut(0, (u, v, w) -> { seen.add(u); seen.add(v); seen.add(w); });
+        assertEquals(List.of(0, 1, 5, 0, 2, 6), seen);
+
+        seen.clear();
+        g.forEachIn(2, (u, v, w) -> { seen.add(u); seen.add(v); seen.add(w); });
+        assertEquals(List.of(0, 2, 6, 1, 2, 7), seen);
+
+        assertEquals(2, g.getOutDegree(0));
+        assertEquals(2, g.getInDegree(2));
+        assertEquals(0, g.getInDegree(0));
+    }
+
+    @Test
+    void testVertexInstancesAreShared() {
+        Graph g = new Graph(2);
+        assertSame(g.getVertex(1), g.getVertex(1));
+    }
+}
@@ -0,0 +1,105 @@
+package graph;
+
+import graph.models.Graph;
+import graph.scc.CondensationResult;
+import graph.scc.IncrementalCondensation;
+import graph.scc.SCCTarjan;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IncrementalCondensationTest {
+
+    @Test
+    void testEdgeAlongOrderAddsSuperEdge() {
+        // 0 -> 1, 2 isolated
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 4);
+        IncrementalCondensation ic = new IncrementalCondensation(g, new Metrics());
+
+        assertFalse(ic.addEdge(1, 2, 3));
+        assertEquals(3, ic.getComponentCount());
+        assertEquals(2, ic.getEdgeCount());
+        assertValidOrder(ic);
+    }
+
+    @Test
+    void testClosingCycleMergesComponents() {
+        // 0 -> 1 -> 2 -> 3, then 3 -> 1 closes the cycle {1, 2, 3}
+        Graph g = new Graph(4);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 3, 1);
+        IncrementalCondensation ic = new IncrementalCondensation(g, new Metrics());
+        assertEquals(4, ic.getComponentCount());
+
+        assertTrue(ic.addEdge(3, 1, 1));
+
+        assertEquals(2, ic.getComponentCount());
+        int merged = ic.getSuperId(1);
+        assertEquals(merged, ic.getSuperId(2));
+        assertEquals(merged, ic.getSuperId(3));
+        assertEquals(Set.of(1, 2, 3), new HashSet<>(ic.getOriginalVertices(merged)));
+        assertEquals(1, ic.getEdgeCount());
+        assertValidOrder(ic);
+        assertEquals(4, g.getEdgeCount());
+    }
+
+    @Test
+    void testMatchesFullRecomputation() {
+        Random rnd = new Random(7);
+        int n = 400;
+        Graph g = new Graph(n);
+        for (int i = 0; i < 300; i++) {
+            int u = rnd.nextInt(n - 1);
+            g.addEdge(u, u + 1 + rnd.nextInt(n - u - 1), 1);
+        }
+        IncrementalCondensation ic = new IncrementalCondensation(g, new Metrics());
+
+        for (int i = 0; i < 500; i++) {
+            ic.addEdge(rnd.nextInt(n), rnd.nextInt(n), 1 + rnd.nextInt(5));
+            if (i % 50 == 0) {
+                assertSamePartition(g, ic);
+                assertValidOrder(ic);
+            }
+        }
+        assertSamePartition(g, ic);
+        assertValidOrder(ic);
+
+        // The snapshot must match a condensation built from scratch and keep a valid order
+        CondensationResult snapshot = ic.snapshot();
+        assertEquals(ic.getComponentCount(), snapshot.getDag().getVertexCount());
+        assertEquals(ic.getEdgeCount(), snapshot.getDag().getEdgeCount());
+        List<Integer> order = snapshot.getTopologicalOrder();
+        assertEquals(ic.getComponentCount(), order.size());
+        int[] position = new int[order.size()];
+        for (int i = 0; i < order.size(); i++) position[order.get(i)] = i;
+        for (int c = 0; c < order.size(); c++) {
+            snapshot.getDag().forEachOut(c, (u, v, w) -> assertTrue(position[u] < position[v], u + " -> " + v));
+        }
+    }
+
+    private static void assertSamePartition(Graph g, IncrementalCondensation ic) {
+        List<List<Integer>> sccs = new SCCTarjan().findSCCs(g, new Metrics());
+        assertEquals(sccs.size(), ic.getComponentCount());
+        for (List<Integer> comp : sccs) {
+            int superId = ic.getSuperId(comp.get(0));
+            assertEquals(new HashSet<>(comp), new HashSet<>(ic.getOriginalVertices(superId)));
+        }
+    }
+
+    private static void assertValidOrder(IncrementalCondensation ic) {
+        List<Integer> order = ic.getTopologicalOrder();
+        assertEquals(ic.getComponentCount(), order.size());
+        int[] position = new int[ic.getVertexCount()];
+        for (int i = 0; i < order.size(); i++) position[order.get(i)] = i;
+        for (int c : order) {
+            ic.forEachOut(c, (u, v, w) -> assertTrue(position[u] < position[v], u + " -> " + v));
+        }
+    }
+}
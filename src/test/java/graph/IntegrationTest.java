@@ -169,4 +169,42 @@ public class IntegrationTest {
         topo.sort(g, m2);
         assertTrue(m2.getElapsedMs() >= 0);
     }
+
+    @Test
+    void testAcyclicFastPathMatchesCondensation() {
+        // 0 -> 1 -> 3, 0 -> 2 -> 3: already a DAG
+        Graph g = new Graph(4);
+        g.addEdge(g.getVertex(0), g.getVertex(1), 2);
+        g.addEdge(g.getVertex(0), g.getVertex(2), 1);
+        g.addEdge(g.getVertex(1), g.getVertex(3), 2);
+        g.addEdge(g.getVertex(2), g.getVertex(3), 5);
+
+        List<Integer> order = new TopologicalSort().sort(g, new Metrics());
+        assertEquals(g.getVertexCount(), order.size());
+
+        CondensationResult identity = CondensationResult.identity(g);
+        assertTrue(identity.getDag() == g);
+        assertEquals(2, identity.getSuperId(2));
+        assertEquals(List.of(3), identity.getOriginalVertices(3));
+
+        DagShortestPath.Result direct = new DagShortestPath().compute(g, 0, order, new Metrics());
+        CondensationResult full = CondensationBuilder.build(g, new SCCTarjan().findSCCs(g, new Metrics()));
+        List<Integer> fullOrder = new TopologicalSort().sort(full.getDag(), new Metrics());
+        DagShortestPath.Result viaScc = new DagShortestPath()
+                .compute(full.getDag(), full.getSuperId(0), fullOrder, new Metrics());
+        for (int v = 0; v < 4; v++) {
+            assertEquals(viaScc.getDistances()[full.getSuperId(v)], direct.getDistances()[v]);
+        }
+    }
+
+    @Test
+    void testKahnLeavesCycleVerticesUnordered() {
+        // 0 -> 1 -> 2 -> 1: vertices 1 and 2 never reach in-degree zero
+        Graph g = new Graph(3);
+        g.addEdge(g.getVertex(0), g.getVertex(1), 1);
+        g.addEdge(g.getVertex(1), g.getVertex(2), 1);
+        g.addEdge(g.getVertex(2), g.getVertex(1), 1);
+
+        assertEquals(List.of(0), new TopologicalSort().sort(g, new Metrics()));
+    }
 }
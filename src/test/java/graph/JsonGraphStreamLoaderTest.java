@@ -0,0 +1,57 @@
+package graph;
+
+import graph.models.Graph;
+import graph.models.LoadedGraph;
+import graph.utils.JsonGraphStreamLoader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonGraphStreamLoaderTest {
+
+    private static LoadedGraph load(String json) throws Exception {
+        Path file = Files.createTempFile("graph", ".json");
+        try {
+            Files.writeString(file, json);
+            return new JsonGraphStreamLoader().load(file.toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testEdgesBeforeN() throws Exception {
+        LoadedGraph loaded = load("""
+                {"edges": [{"u": 0, "v": 1, "w": 5}, {"w": 2, "v": 2, "u": 1}],
+                 "extra": {"nested": [1, 2, {"x": 3}]},
+                 "directed": true, "source": 1, "weight_model": "edge", "n": 3}
+                """);
+
+        Graph g = loaded.getGraph();
+        assertEquals(3, g.getVertexCount());
+        assertEquals(2, g.getEdgeCount());
+        assertEquals(1, loaded.getSource());
+        assertEquals("edge", loaded.getWeightModel());
+        int[] weightOf12 = {-1};
+        g.forEachOut(1, (u, v, w) -> weightOf12[0] = v == 2 ? w : weightOf12[0]);
+        assertEquals(2, weightOf12[0]);
+    }
+
+    @Test
+    void testAddingEdgesAfterLoad() throws Exception {
+        Graph g = load("{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 1}]}").getGraph();
+        g.addEdge(1, 0, 1);
+        assertEquals(1, g.getOutDegree(1));
+        assertEquals(2, g.getEdgeCount());
+    }
+
+    @Test
+    void testMissingNOrBadVertexFails() {
+        assertThrows(RuntimeException.class, () -> load("{\"edges\": []}"));
+        assertThrows(RuntimeException.class, () -> load("{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 5}]}"));
+    }
+}
@@ -0,0 +1,115 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.models.Digraph;
+import graph.models.Graph;
+import graph.models.LoadedGraph;
+import graph.models.OffHeapGraph;
+import graph.scc.SCCTarjan;
+import graph.topo.TopologicalSort;
+import graph.utils.GraphSnapshot;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OffHeapGraphTest {
+
+    @Test
+    void testCopyMatchesHeapGraph() {
+        Graph g = randomGraph(new Random(3), 500, 2000);
+        try (Arena arena = Arena.ofConfined()) {
+            OffHeapGraph off = OffHeapGraph.copyOf(g, arena);
+            assertEquals(g.getVertexCount(), off.getVertexCount());
+            assertEquals(g.getEdgeCount(), off.getEdgeCount());
+            for (int u = 0; u < g.getVertexCount(); u++) {
+                assertEquals(g.getOutDegree(u), off.getOutDegree(u));
+                assertEquals(g.getInDegree(u), off.getInDegree(u));
+                assertEquals(outEdges(g, u), outEdges(off, u));
+                assertEquals(inEdges(g, u), inEdges(off, u));
+            }
+            assertArrayEquals(g.getInSources(), off.toGraph().getInSources());
+            assertEquals(new SCCTarjan().findSCCs(g, new Metrics()), new SCCTarjan().findSCCs(off, new Metrics()));
+        }
+    }
+
+    @Test
+    void testMappedSnapshotRunsDagAlgorithms() throws Exception {
+        Random rnd = new Random(4);
+        int n = 2000;
+        Graph dag = new Graph(n);
+        for (int i = 0; i < 8000; i++) {
+            int u = rnd.nextInt(n - 1);
+            dag.addEdge(u, u + 1 + rnd.nextInt(n - u - 1), 1 + rnd.nextInt(20));
+        }
+
+        Path file = Files.createTempFile("graph", ".bin");
+        try (Arena arena = Arena.ofConfined()) {
+            GraphSnapshot.write(file.toString(), new LoadedGraph(dag, 0, "edge"));
+            OffHeapGraph mapped = GraphSnapshot.map(file.toString(), arena);
+
+            List<Integer> order = new TopologicalSort().sort(mapped, new Metrics());
+            assertEquals(new TopologicalSort().sort(dag, new Metrics()), order);
+            DagShortestPath sp = new DagShortestPath();
+            assertArrayEquals(sp.compute(dag, 0, order, new Metrics()).getDistances(),
+                    sp.compute(mapped, 0, order, new Metrics()).getDistances());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testMapRejectsCorruptModelLength() throws Exception {
+        Graph g = randomGraph(new Random(6), 10, 20);
+        Path file = Files.createTempFile("graph", ".bin");
+        try (Arena arena = Arena.ofConfined()) {
+            GraphSnapshot.write(file.toString(), new LoadedGraph(g, 0, "edge"));
+            byte[] bytes = Files.readAllBytes(file);
+            for (int modelLength : new int[]{-2, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+                byte[] corrupt = bytes.clone();
+                ByteBuffer.wrap(corrupt).order(ByteOrder.LITTLE_ENDIAN).putInt(28, modelLength);
+                Files.write(file, corrupt);
+                assertThrows(RuntimeException.class, () -> GraphSnapshot.map(file.toString(), arena));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testClosedArenaRejectsAccess() {
+        Graph g = randomGraph(new Random(5), 10, 20);
+        OffHeapGraph off;
+        try (Arena arena = Arena.ofConfined()) {
+            off = OffHeapGraph.copyOf(g, arena);
+        }
+        assertThrows(IllegalStateException.class, () -> off.getOutDegree(0));
+    }
+
+    private static Graph randomGraph(Random rnd, int n, int m) {
+        Graph g = new Graph(n);
+        for (int i = 0; i < m; i++) g.addEdge(rnd.nextInt(n), rnd.nextInt(n), rnd.nextInt(100));
+        return g;
+    }
+
+    private static List<List<Integer>> outEdges(Digraph g, int u) {
+        List<List<Integer>> edges = new ArrayList<>();
+        g.forEachOut(u, (from, to, w) -> edges.add(List.of(from, to, w)));
+        return edges;
+    }
+
+    private static List<List<Integer>> inEdges(Digraph g, int v) {
+        List<List<Integer>> edges = new ArrayList<>();
+        g.forEachIn(v, (from, to, w) -> edges.add(List.of(from, to, w)));
+        return edges;
+    }
+}
@@ -0,0 +1,89 @@
+package graph;
+
+import graph.models.Graph;
+import graph.scc.ParallelSCC;
+import graph.scc.SCCTarjan;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParallelSCCTest {
+
+    @Test
+    void testSmallGraphFallsBackToTarjan() {
+        // 0 -> 1 -> 2 -> 0, 2 -> 3
+        Graph g = new Graph(4);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 0, 1);
+        g.addEdge(2, 3, 1);
+
+        List<List<Integer>> sccs = new ParallelSCC().findSCCs(g, new Metrics());
+
+        // Same components as Tarjan, but ordered by smallest vertex like the parallel path
+        assertEquals(normalize(new SCCTarjan().findSCCs(g, new Metrics())), normalize(sccs));
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3)), sccs);
+    }
+
+    @Test
+    void testTrimmingAndSmallCycles() {
+        Graph g = new Graph(9);
+        // chain 0 -> 1 -> 2 feeding cycle 3 -> 4 -> 5 -> 3, which feeds 6 -> 7 <-> 8
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 4, 1);
+        g.addEdge(4, 5, 1);
+        g.addEdge(5, 3, 1);
+        g.addEdge(5, 6, 1);
+        g.addEdge(6, 7, 1);
+        g.addEdge(7, 8, 1);
+        g.addEdge(8, 7, 1);
+
+        List<List<Integer>> sccs = new ParallelSCC(ForkJoinPool.commonPool(), 0)
+                .findSCCs(g, new Metrics());
+
+        assertEquals(List.of(List.of(0), List.of(1), List.of(2), List.of(3, 4, 5),
+                List.of(6), List.of(7, 8)), sccs);
+    }
+
+    @Test
+    void testMatchesTarjanOnLargeRandomGraphs() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int seed = 1; seed <= 3; seed++) {
+                Graph g = randomGraph(30_000, 45_000, seed);
+                // Cycles spanning consecutive blocks produce many mid-sized components
+                for (int u = 0; u + 1 < 30_000; u += 7) {
+                    g.addEdge(u + 1, u, 1);
+                }
+
+                List<List<Integer>> parallel = new ParallelSCC(pool, 0).findSCCs(g, new Metrics());
+                List<List<Integer>> sequential = new SCCTarjan().findSCCs(g, new Metrics());
+
+                assertEquals(normalize(sequential), normalize(parallel));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Graph randomGraph(int n, int m, long seed) {
+        Random rnd = new Random(seed);
+        Graph g = new Graph(n, m);
+        for (int i = 0; i < m; i++) {
+            g.addEdge(rnd.nextInt(n), rnd.nextInt(n), 1);
+        }
+        return g;
+    }
+
+    private static Set<Set<Integer>> normalize(List<List<Integer>> sccs) {
+        Set<Set<Integer>> result = new HashSet<>();
+        for (List<Integer> comp : sccs) result.add(new HashSet<>(comp));
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package graph;
+
+import graph.models.Graph;
+import graph.topo.ParallelTopologicalSort;
+import graph.topo.TopologicalLevels;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelTopologicalSortTest {
+
+    @Test
+    void testDiamondLevels() {
+        // 0 -> 1, 0 -> 2, 1 -> 3, 2 -> 3, 4 isolated
+        Graph g = new Graph(5);
+        g.addEdge(0, 1, 1);
+        g.addEdge(0, 2, 1);
+        g.addEdge(1, 3, 1);
+        g.addEdge(2, 3, 1);
+
+        TopologicalLevels levels = new ParallelTopologicalSort().sort(g, new Metrics());
+
+        assertTrue(levels.isComplete());
+        assertEquals(3, levels.getLevelCount());
+        assertEquals(List.of(0, 4), levels.getLevel(0));
+        assertEquals(List.of(1, 2), levels.getLevel(1));
+        assertEquals(List.of(3), levels.getLevel(2));
+        assertEquals(List.of(0, 4, 1, 2, 3), levels.getOrder());
+    }
+
+    @Test
+    void testCycleLeavesVerticesUnordered() {
+        // 0 -> 1 -> 2 -> 1
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 1, 1);
+
+        TopologicalLevels levels = new ParallelTopologicalSort().sort(g, new Metrics());
+
+        assertFalse(levels.isComplete());
+        assertEquals(List.of(0), levels.getOrder());
+    }
+
+    @Test
+    void testLargeRandomDagOnPool() {
+        Random rnd = new Random(11);
+        int n = 20_000;
+        Graph g = new Graph(n);
+        for (int i = 0; i < 80_000; i++) {
+            int u = rnd.nextInt(n - 1);
+            g.addEdge(u, u + 1 + rnd.nextInt(Math.min(50, n - u - 1)), 1);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TopologicalLevels levels = new ParallelTopologicalSort(pool).sort(g, new Metrics());
+            assertTrue(levels.isComplete());
+
+            // Every edge must go from a lower level to a higher one
+            int[] levelOf = new int[n];
+            int[] offsets = levels.getLevelOffsets();
+            int[] order = levels.getOrderArray();
+            for (int l = 0; l < levels.getLevelCount(); l++) {
+                for (int i = offsets[l]; i < offsets[l + 1]; i++) levelOf[order[i]] = l;
+            }
+            for (int u = 0; u < n; u++) {
+                int lu = levelOf[u];
+                g.forEachOut(u, (a, b, w) -> assertTrue(lu < levelOf[b], a + " -> " + b));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package graph;
+
+import graph.dagsp.DagShortestPath;
+import graph.dagsp.PathQueryCache;
+import graph.models.Graph;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PathQueryCacheTest {
+
+    @Test
+    void testRepeatedQueryHitsCache() {
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 2);
+        g.addEdge(1, 2, 3);
+        PathQueryCache cache = new PathQueryCache(g, 1_000);
+        Metrics metrics = new Metrics();
+
+        DagShortestPath.Result first = cache.shortest(0, metrics);
+        assertSame(first, cache.shortest(0, metrics));
+        assertEquals(5, cache.critical(0, metrics).getLength());
+        assertEquals(1, metrics.getCacheHits());
+        assertEquals(2, metrics.getCacheMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testAddEdgeInvalidates() {
+        Graph g = new Graph(3);
+        g.addEdge(0, 1, 5);
+        PathQueryCache cache = new PathQueryCache(g, 1_000);
+        Metrics metrics = new Metrics();
+
+        DagShortestPath.Result before = cache.shortest(0, metrics);
+        assertEquals(Integer.MAX_VALUE, before.getDistances()[2]);
+
+        g.addEdge(1, 2, 1);
+        DagShortestPath.Result after = cache.shortest(0, metrics);
+        assertNotSame(before, after);
+        assertEquals(6, after.getDistances()[2]);
+        assertEquals(0, metrics.getCacheHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvicted() {
+        // Each shortest-path result of a 4-vertex graph weighs 8
+        Graph g = new Graph(4);
+        g.addEdge(0, 1, 1);
+        PathQueryCache cache = new PathQueryCache(g, 16);
+        Metrics metrics = new Metrics();
+
+        cache.shortest(0, metrics);
+        cache.shortest(1, metrics);
+        cache.shortest(0, metrics);
+        cache.shortest(2, metrics);
+        assertEquals(2, cache.size());
+        assertEquals(16, cache.getWeight());
+
+        // 0 was used more recently than 1, so 1 was evicted
+        cache.shortest(0, metrics);
+        cache.shortest(1, metrics);
+        assertEquals(2, metrics.getCacheHits());
+        assertEquals(4, metrics.getCacheMisses());
+    }
+
+    @Test
+    void testQueriesSurviveConcurrentAddEdge() throws Exception {
+        int n = 2000;
+        Graph g = new Graph(n);
+        for (int v = 1; v < n; v++) g.addEdge(v - 1, v, 1);
+        PathQueryCache cache = new PathQueryCache(g, 1_000_000);
+
+        Thread writer = new Thread(() -> {
+            Random rnd = new Random(17);
+            for (int i = 0; i < 20_000; i++) {
+                int u = rnd.nextInt(n - 1);
+                g.addEdge(u, u + 1 + rnd.nextInt(n - u - 1), 1 + rnd.nextInt(5));
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            // Forward edges only, so every snapshot stays a DAG with all vertices reachable
+            assertEquals(n, cache.shortest(0, new Metrics()).getDistances().length);
+            assertEquals(n, cache.getTopologicalOrder().size());
+            cache.critical(0, new Metrics());
+        }
+        writer.join();
+
+        DagShortestPath.Result last = cache.shortest(0, new Metrics());
+        assertEquals(new DagShortestPath().compute(g, 0, cache.getTopologicalOrder(), new Metrics())
+                .getDistances()[n - 1], last.getDistances()[n - 1]);
+    }
+}
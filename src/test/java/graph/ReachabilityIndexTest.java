@@ -0,0 +1,72 @@
+package graph;
+
+import graph.models.Graph;
+import graph.scc.CondensationBuilder;
+import graph.scc.CondensationResult;
+import graph.scc.ReachabilityIndex;
+import graph.scc.SCCTarjan;
+import graph.utils.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReachabilityIndexTest {
+
+    @Test
+    void testCycleAndChain() {
+        // {0, 1} cycle -> 2 -> 3, 4 isolated
+        Graph g = new Graph(5);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 3, 1);
+
+        ReachabilityIndex index = new ReachabilityIndex(CondensationBuilder.buildTopological(g, new Metrics()), new Metrics());
+
+        assertTrue(index.canReach(1, 0));
+        assertTrue(index.canReach(0, 3));
+        assertTrue(index.canReach(4, 4));
+        assertFalse(index.canReach(3, 0));
+        assertFalse(index.canReach(0, 4));
+        assertFalse(index.canReach(0, 99));
+    }
+
+    @Test
+    void testMatchesBreadthFirstSearch() {
+        Random rnd = new Random(17);
+        int n = 400;
+        Graph g = new Graph(n);
+        for (int i = 0; i < 900; i++) g.addEdge(rnd.nextInt(n), rnd.nextInt(n), 1);
+
+        CondensationResult result = CondensationBuilder.build(g, new SCCTarjan().findSCCs(g, new Metrics()));
+        ReachabilityIndex index = new ReachabilityIndex(result, new Metrics());
+
+        for (int u = 0; u < n; u++) {
+            boolean[] seen = reachableFrom(g, u);
+            for (int v = 0; v < n; v++) {
+                assertEquals(seen[v], index.canReach(u, v), u + " -> " + v);
+            }
+        }
+    }
+
+    private static boolean[] reachableFrom(Graph g, int source) {
+        boolean[] seen = new boolean[g.getVertexCount()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        seen[source] = true;
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            g.forEachOut(queue.poll(), (u, v, w) -> {
+                if (!seen[v]) {
+                    seen[v] = true;
+                    queue.add(v);
+                }
+            });
+        }
+        return seen;
+    }
+}
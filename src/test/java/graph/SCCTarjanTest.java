@@ -112,4 +112,34 @@ public class SCCTarjanTest {
         assertTrue(metrics.getElapsedMs() >= 0);
     }
 
+    @Test
+    void testLongChainDoesNotOverflowStack() {
+        // 0 -> 1 -> ... -> 299999, far deeper than a recursive DFS can go
+        int n = 300_000;
+        Graph g = new Graph(n, n);
+        for (int i = 0; i + 1 < n; i++) {
+            g.addEdge(i, i + 1, 1);
+        }
+
+        List<List<Integer>> sccs = new SCCTarjan().findSCCs(g, new Metrics());
+
+        assertEquals(n, sccs.size());
+        // Components come out in reverse topological order
+        assertEquals(List.of(n - 1), sccs.get(0));
+        assertEquals(List.of(0), sccs.get(n - 1));
+    }
+
+    @Test
+    void testLongCycle() {
+        int n = 300_000;
+        Graph g = new Graph(n, n);
+        for (int i = 0; i < n; i++) {
+            g.addEdge(i, (i + 1) % n, 1);
+        }
+
+        List<List<Integer>> sccs = new SCCTarjan().findSCCs(g, new Metrics());
+
+        assertEquals(1, sccs.size());
+        assertEquals(n, sccs.get(0).size());
+    }
 }